@@ -0,0 +1,50 @@
+package org.jokeoa.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Raw measurements of one benchmark method with one parameter combination
+ * (e.g. SortBenchmark.mergeSort with size=100000, distribution=RANDOM).
+ */
+public class BenchmarkRecord {
+    public final String benchmark;
+    public final Map<String, String> params;
+    public final String mode;
+    public final String unit;
+    public final double[] samples;
+
+    /**
+     * @param benchmark benchmark name without package (Class.method)
+     * @param params JMH parameters of the run
+     * @param mode JMH mode ("avgt", "thrpt", ...)
+     * @param unit score unit (e.g. "us/op")
+     * @param samples per-iteration scores of all forks
+     */
+    public BenchmarkRecord(String benchmark, Map<String, String> params, String mode, String unit, double[] samples) {
+        this.benchmark = benchmark;
+        this.params = Collections.unmodifiableMap(new TreeMap<>(params));
+        this.mode = mode;
+        this.unit = unit;
+        this.samples = samples;
+    }
+
+    /**
+     * Identifies the algorithm/size/distribution combination across runs
+     */
+    public String key() {
+        StringBuilder sb = new StringBuilder(benchmark);
+        if (!params.isEmpty()) {
+            sb.append(params.toString().replace('{', '[').replace('}', ']'));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Throughput scores grow with speed, time-based scores shrink with it
+     */
+    public boolean higherIsBetter() {
+        return "thrpt".equals(mode);
+    }
+}
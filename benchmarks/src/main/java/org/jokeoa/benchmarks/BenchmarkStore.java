@@ -0,0 +1,137 @@
+package org.jokeoa.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads JMH JSON result files and reads/writes baseline files.
+ * A baseline keeps every raw sample so later runs can be compared statistically.
+ */
+public class BenchmarkStore {
+    private static final int FORMAT_VERSION = 1;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * Parses a file written by JMH with -rf json
+     */
+    public static List<BenchmarkRecord> readJmhResults(Path file) throws IOException {
+        JsonArray runs;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            runs = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+
+        List<BenchmarkRecord> records = new ArrayList<>(runs.size());
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            JsonObject primary = run.getAsJsonObject("primaryMetric");
+
+            Map<String, String> params = new LinkedHashMap<>();
+            if (run.has("params")) {
+                for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                    params.put(param.getKey(), param.getValue().getAsString());
+                }
+            }
+
+            List<Double> samples = new ArrayList<>();
+            for (JsonElement fork : primary.getAsJsonArray("rawData")) {
+                for (JsonElement iteration : fork.getAsJsonArray()) {
+                    samples.add(iteration.getAsDouble());
+                }
+            }
+
+            records.add(new BenchmarkRecord(shortName(run.get("benchmark").getAsString()), params,
+                    run.get("mode").getAsString(), primary.get("scoreUnit").getAsString(), toArray(samples)));
+        }
+        return records;
+    }
+
+    /**
+     * Writes records as a baseline file, creating parent directories when needed
+     */
+    public static void saveBaseline(List<BenchmarkRecord> records, Path file) throws IOException {
+        JsonObject root = new JsonObject();
+        root.addProperty("format", FORMAT_VERSION);
+        JsonArray array = new JsonArray();
+        for (BenchmarkRecord record : records) {
+            JsonObject object = new JsonObject();
+            object.addProperty("benchmark", record.benchmark);
+            object.addProperty("mode", record.mode);
+            object.addProperty("unit", record.unit);
+            JsonObject params = new JsonObject();
+            record.params.forEach(params::addProperty);
+            object.add("params", params);
+            JsonArray samples = new JsonArray();
+            for (double sample : record.samples) {
+                samples.add(sample);
+            }
+            object.add("samples", samples);
+            array.add(object);
+        }
+        root.add("records", array);
+
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            GSON.toJson(root, writer);
+        }
+    }
+
+    /**
+     * Reads a file written by {@link #saveBaseline}
+     */
+    public static List<BenchmarkRecord> loadBaseline(Path file) throws IOException {
+        JsonObject root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        if (root.get("format").getAsInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported baseline format: " + root.get("format"));
+        }
+
+        List<BenchmarkRecord> records = new ArrayList<>();
+        for (JsonElement element : root.getAsJsonArray("records")) {
+            JsonObject object = element.getAsJsonObject();
+            Map<String, String> params = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> param : object.getAsJsonObject("params").entrySet()) {
+                params.put(param.getKey(), param.getValue().getAsString());
+            }
+            List<Double> samples = new ArrayList<>();
+            for (JsonElement sample : object.getAsJsonArray("samples")) {
+                samples.add(sample.getAsDouble());
+            }
+            records.add(new BenchmarkRecord(object.get("benchmark").getAsString(), params,
+                    object.get("mode").getAsString(), object.get("unit").getAsString(), toArray(samples)));
+        }
+        return records;
+    }
+
+    private static String shortName(String benchmark) {
+        int methodDot = benchmark.lastIndexOf('.');
+        int classDot = methodDot > 0 ? benchmark.lastIndexOf('.', methodDot - 1) : -1;
+        return benchmark.substring(classDot + 1);
+    }
+
+    private static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,59 @@
+package org.jokeoa.benchmarks;
+
+import org.jokeoa.ClosestPairPoints;
+import org.jokeoa.Point2D;
+import org.jokeoa.PointPair;
+import org.jokeoa.SortMetrics;
+import org.jokeoa.WorkloadGenerator;
+import org.jokeoa.WorkloadShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClosestPairPoints over every workload shape (applied to x; y is uniform unless the shape is 2D).
+ * Sizes stop at 10^7: 10^8 Point2D objects alone need more than 3 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ClosestPairBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param
+    public WorkloadShape distribution;
+
+    private Point2D[] points;
+
+    @Setup
+    public void setUp() {
+        points = new WorkloadGenerator(distribution, 42).points(size);
+    }
+
+    @Benchmark
+    public PointPair closestPair() {
+        return ClosestPairPoints.findClosestPair(points);
+    }
+
+    @Benchmark
+    public SortMetrics closestPairInstrumented() {
+        SortMetrics metrics = new SortMetrics();
+        ClosestPairPoints.findClosestPairWithMetrics(points, metrics);
+        return metrics;
+    }
+}
@@ -0,0 +1,74 @@
+package org.jokeoa.benchmarks;
+
+import org.jokeoa.ClosestPairWorkspace;
+import org.jokeoa.ParallelClosestPair;
+import org.jokeoa.PointPair;
+import org.jokeoa.PointSet;
+import org.jokeoa.WorkloadGenerator;
+import org.jokeoa.WorkloadShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup of ParallelClosestPair over the sequential ClosestPairWorkspace, one pool size per
+ * parallelism value. The workspace score does not depend on parallelism; it is the baseline
+ * each parallel score divides. Points are a PointSet, so 10^7 of them take 160 MB.
+ * <p>
+ * Example: {@code java -jar benchmarks/target/benchmarks.jar ClosestPairScalingBenchmark -p parallelism=1,32}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ClosestPairScalingBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "CLUSTERED"})
+    public WorkloadShape distribution;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int parallelism;
+
+    private PointSet points;
+    private ClosestPairWorkspace workspace;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        points = PointSet.of(new WorkloadGenerator(distribution, 42).points(size));
+        workspace = new ClosestPairWorkspace(size);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public PointPair workspace() {
+        return workspace.findClosestPair(points);
+    }
+
+    @Benchmark
+    public PointPair parallel() {
+        return ParallelClosestPair.findClosestPair(points, pool);
+    }
+}
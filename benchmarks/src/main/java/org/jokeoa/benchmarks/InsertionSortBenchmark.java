@@ -0,0 +1,63 @@
+package org.jokeoa.benchmarks;
+
+import org.jokeoa.InsertionSort;
+import org.jokeoa.SortContext;
+import org.jokeoa.SortMetrics;
+import org.jokeoa.WorkloadGenerator;
+import org.jokeoa.WorkloadShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InsertionSort is quadratic, so sizes stop at 10^4 (10^8 would run for days).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertionSortBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param
+    public WorkloadShape distribution;
+
+    private int[] input;
+    private int[] work;
+
+    @Setup
+    public void setUp() {
+        input = new WorkloadGenerator(distribution, 42).ints(size);
+        work = new int[size];
+    }
+
+    @Benchmark
+    public int[] insertionSort() {
+        System.arraycopy(input, 0, work, 0, size);
+        InsertionSort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public SortMetrics insertionSortInstrumented() {
+        System.arraycopy(input, 0, work, 0, size);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        InsertionSort.sort(new SortContext(work, metrics), 0, size - 1);
+        return metrics;
+    }
+}
@@ -0,0 +1,61 @@
+package org.jokeoa.benchmarks;
+
+import org.jokeoa.QuickSort;
+import org.jokeoa.SortMetrics;
+import org.jokeoa.WorkloadGenerator;
+import org.jokeoa.WorkloadShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QuickSort's two-way partition sends every element equal to the pivot to the left, so
+ * ALL_IDENTICAL and FEW_UNIQUE inputs are quadratic. Sizes stop at 10^5 (about 5 * 10^9
+ * comparisons on ALL_IDENTICAL; 10^8 would never finish). Inputs are copied as in {@link SortBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuickSortBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param
+    public WorkloadShape distribution;
+
+    private int[] input;
+    private int[] work;
+
+    @Setup
+    public void setUp() {
+        input = new WorkloadGenerator(distribution, 42).ints(size);
+        work = new int[size];
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        System.arraycopy(input, 0, work, 0, size);
+        QuickSort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public SortMetrics quickSortInstrumented() {
+        System.arraycopy(input, 0, work, 0, size);
+        return QuickSort.sortWithMetrics(work);
+    }
+}
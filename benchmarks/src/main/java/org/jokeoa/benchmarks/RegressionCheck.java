@@ -0,0 +1,65 @@
+package org.jokeoa.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line front end of the baseline store and the regression detector.
+ * <pre>
+ *   save    &lt;jmh-result.json&gt; &lt;baseline.json&gt;
+ *   compare &lt;baseline.json&gt; &lt;jmh-result.json&gt; [--threshold 0.10] [--alpha 0.05]
+ * </pre>
+ * compare exits with status 1 when any combination regressed.
+ */
+public class RegressionCheck {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            usage();
+            return;
+        }
+
+        switch (args[0]) {
+            case "save" -> {
+                List<BenchmarkRecord> records = BenchmarkStore.readJmhResults(Path.of(args[1]));
+                BenchmarkStore.saveBaseline(records, Path.of(args[2]));
+                System.out.println("Saved " + records.size() + " benchmark results to " + args[2]);
+            }
+            case "compare" -> {
+                double threshold = 0.10;
+                double alpha = 0.05;
+                for (int i = 3; i < args.length; i += 2) {
+                    switch (args[i]) {
+                        case "--threshold" -> threshold = Double.parseDouble(optionValue(args, i));
+                        case "--alpha" -> alpha = Double.parseDouble(optionValue(args, i));
+                        default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                    }
+                }
+
+                RegressionDetector.Report report = new RegressionDetector(threshold, alpha).compare(
+                        BenchmarkStore.loadBaseline(Path.of(args[1])),
+                        BenchmarkStore.readJmhResults(Path.of(args[2])));
+                System.out.print(report.format());
+                if (report.hasRegressions()) {
+                    System.exit(1);
+                }
+            }
+            default -> usage();
+        }
+    }
+
+    private static String optionValue(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i]);
+        }
+        return args[i + 1];
+    }
+
+    private static void usage() {
+        System.err.println("Usage:");
+        System.err.println("  save    <jmh-result.json> <baseline.json>");
+        System.err.println("  compare <baseline.json> <jmh-result.json> [--threshold 0.10] [--alpha 0.05]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,180 @@
+package org.jokeoa.benchmarks;
+
+import org.apache.commons.math3.stat.inference.MannWhitneyUTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares a benchmark run against a baseline.
+ * A combination regresses when its median got worse by more than the threshold
+ * and a two-sided Mann-Whitney U test rejects "same distribution" at the given significance level.
+ */
+public class RegressionDetector {
+    private final double threshold;
+    private final double alpha;
+
+    /**
+     * @param threshold allowed relative slowdown (0.10 = 10%)
+     * @param alpha significance level of the Mann-Whitney test (e.g. 0.05)
+     */
+    public RegressionDetector(double threshold, double alpha) {
+        if (threshold < 0 || alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("Invalid threshold or significance level");
+        }
+        this.threshold = threshold;
+        this.alpha = alpha;
+    }
+
+    public enum Status {
+        REGRESSION,
+        IMPROVEMENT,
+        UNCHANGED,
+        NEW,
+        MISSING
+    }
+
+    /**
+     * Outcome for one algorithm/size/distribution combination
+     */
+    public static class Comparison {
+        public final String key;
+        public final String unit;
+        public final double baselineMedian;
+        public final double currentMedian;
+        /** Relative slowdown: positive is worse, negative is better */
+        public final double slowdown;
+        public final double pValue;
+        public final Status status;
+
+        Comparison(String key, String unit, double baselineMedian, double currentMedian,
+                   double slowdown, double pValue, Status status) {
+            this.key = key;
+            this.unit = unit;
+            this.baselineMedian = baselineMedian;
+            this.currentMedian = currentMedian;
+            this.slowdown = slowdown;
+            this.pValue = pValue;
+            this.status = status;
+        }
+    }
+
+    public static class Report {
+        public final List<Comparison> comparisons;
+        private final double threshold;
+        private final double alpha;
+
+        Report(List<Comparison> comparisons, double threshold, double alpha) {
+            this.comparisons = comparisons;
+            this.threshold = threshold;
+            this.alpha = alpha;
+        }
+
+        public List<Comparison> regressions() {
+            List<Comparison> result = new ArrayList<>();
+            for (Comparison comparison : comparisons) {
+                if (comparison.status == Status.REGRESSION) {
+                    result.add(comparison);
+                }
+            }
+            return result;
+        }
+
+        public boolean hasRegressions() {
+            return !regressions().isEmpty();
+        }
+
+        /**
+         * Human-readable table with regressions listed first
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "Benchmark comparison (threshold %.1f%%, alpha %.3f)%n",
+                    threshold * 100, alpha));
+
+            List<Comparison> ordered = new ArrayList<>(comparisons);
+            ordered.sort((a, b) -> a.status != b.status
+                    ? Integer.compare(a.status.ordinal(), b.status.ordinal())
+                    : a.key.compareTo(b.key));
+
+            for (Comparison c : ordered) {
+                if (c.status == Status.NEW || c.status == Status.MISSING) {
+                    sb.append(String.format(Locale.ROOT, "  %-11s %s%n", c.status, c.key));
+                } else {
+                    sb.append(String.format(Locale.ROOT, "  %-11s %s: %.3f -> %.3f %s (%+.1f%%, p=%.4f)%n",
+                            c.status, c.key, c.baselineMedian, c.currentMedian, c.unit, c.slowdown * 100, c.pValue));
+                }
+            }
+
+            int regressions = regressions().size();
+            sb.append(regressions == 0
+                    ? "No regressions.\n"
+                    : regressions + " regression(s) beyond " + String.format(Locale.ROOT, "%.1f%%", threshold * 100) + ".\n");
+            return sb.toString();
+        }
+    }
+
+    public Report compare(List<BenchmarkRecord> baseline, List<BenchmarkRecord> current) {
+        Map<String, BenchmarkRecord> baselineByKey = new LinkedHashMap<>();
+        for (BenchmarkRecord record : baseline) {
+            baselineByKey.put(record.key(), record);
+        }
+
+        MannWhitneyUTest test = new MannWhitneyUTest();
+        List<Comparison> comparisons = new ArrayList<>();
+
+        for (BenchmarkRecord record : current) {
+            BenchmarkRecord base = baselineByKey.remove(record.key());
+            if (base == null) {
+                comparisons.add(new Comparison(record.key(), record.unit, Double.NaN, median(record.samples),
+                        0.0, Double.NaN, Status.NEW));
+                continue;
+            }
+            if (!base.unit.equals(record.unit) || !base.mode.equals(record.mode)) {
+                throw new IllegalArgumentException("Incompatible units for " + record.key()
+                        + ": " + base.mode + " " + base.unit + " vs " + record.mode + " " + record.unit);
+            }
+
+            double baseMedian = median(base.samples);
+            double currentMedian = median(record.samples);
+            double slowdown = record.higherIsBetter()
+                    ? baseMedian / currentMedian - 1.0
+                    : currentMedian / baseMedian - 1.0;
+
+            // Single samples carry no spread, so the threshold alone decides
+            double pValue = base.samples.length < 2 || record.samples.length < 2
+                    ? 0.0
+                    : test.mannWhitneyUTest(base.samples, record.samples);
+            if (Double.isNaN(pValue)) {
+                pValue = 1.0;
+            }
+
+            Status status;
+            if (pValue >= alpha || Math.abs(slowdown) <= threshold) {
+                status = Status.UNCHANGED;
+            } else {
+                status = slowdown > 0 ? Status.REGRESSION : Status.IMPROVEMENT;
+            }
+            comparisons.add(new Comparison(record.key(), record.unit, baseMedian, currentMedian,
+                    slowdown, pValue, status));
+        }
+
+        for (BenchmarkRecord missing : baselineByKey.values()) {
+            comparisons.add(new Comparison(missing.key(), missing.unit, median(missing.samples), Double.NaN,
+                    0.0, Double.NaN, Status.MISSING));
+        }
+
+        return new Report(comparisons, threshold, alpha);
+    }
+
+    private static double median(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        return n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+    }
+}
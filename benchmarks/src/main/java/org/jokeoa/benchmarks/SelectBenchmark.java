@@ -0,0 +1,91 @@
+package org.jokeoa.benchmarks;
+
+import org.jokeoa.DeterministicSelect;
+import org.jokeoa.FloydRivestSelect;
+import org.jokeoa.ParallelSelect;
+import org.jokeoa.SortMetrics;
+import org.jokeoa.WorkloadGenerator;
+import org.jokeoa.WorkloadShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Median queries: DeterministicSelect (median-of-medians and introselect), Floyd–Rivest and
+ * fork/join ParallelSelect on the common pool.
+ * All of them clone their input, so no copy is needed here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SelectBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param
+    public WorkloadShape distribution;
+
+    private int[] input;
+    private int k;
+
+    @Setup
+    public void setUp() {
+        input = new WorkloadGenerator(distribution, 42).ints(size);
+        k = (size + 1) / 2;
+    }
+
+    @Benchmark
+    public int select() {
+        return DeterministicSelect.select(input, k);
+    }
+
+    @Benchmark
+    public SortMetrics selectInstrumented() {
+        SortMetrics metrics = new SortMetrics();
+        DeterministicSelect.selectWithMetrics(input, k, metrics);
+        return metrics;
+    }
+
+    @Benchmark
+    public int introSelect() {
+        return DeterministicSelect.introSelect(input, k);
+    }
+
+    @Benchmark
+    public SortMetrics introSelectInstrumented() {
+        SortMetrics metrics = new SortMetrics();
+        DeterministicSelect.introSelectWithMetrics(input, k, metrics);
+        return metrics;
+    }
+
+    @Benchmark
+    public int floydRivest() {
+        return FloydRivestSelect.select(input, k);
+    }
+
+    @Benchmark
+    public SortMetrics floydRivestInstrumented() {
+        SortMetrics metrics = new SortMetrics();
+        FloydRivestSelect.selectWithMetrics(input, k, metrics);
+        return metrics;
+    }
+
+    @Benchmark
+    public int parallelSelect() {
+        return ParallelSelect.select(input, k);
+    }
+}
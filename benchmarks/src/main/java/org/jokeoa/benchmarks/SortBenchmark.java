@@ -0,0 +1,62 @@
+package org.jokeoa.benchmarks;
+
+import org.jokeoa.MergeSort;
+import org.jokeoa.SortMetrics;
+import org.jokeoa.WorkloadGenerator;
+import org.jokeoa.WorkloadShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MergeSort over every size and distribution. QuickSort runs separately in
+ * {@link QuickSortBenchmark} with smaller sizes.
+ * Each invocation copies the pristine input into a work array first,
+ * so the copy is part of every score and cancels out when comparing algorithms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SortBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param
+    public WorkloadShape distribution;
+
+    private int[] input;
+    private int[] work;
+
+    @Setup
+    public void setUp() {
+        input = new WorkloadGenerator(distribution, 42).ints(size);
+        work = new int[size];
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        System.arraycopy(input, 0, work, 0, size);
+        MergeSort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public SortMetrics mergeSortInstrumented() {
+        System.arraycopy(input, 0, work, 0, size);
+        return MergeSort.sortWithMetrics(work);
+    }
+}
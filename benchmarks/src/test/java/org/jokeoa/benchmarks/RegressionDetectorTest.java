@@ -0,0 +1,161 @@
+package org.jokeoa.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class RegressionDetectorTest {
+
+    private Random random;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("20% slowdown is reported as a regression")
+    void testDetectsRegression() {
+        BenchmarkRecord baseline = record("QuickSortBenchmark.quickSort", "100000", 100.0, 20);
+        BenchmarkRecord current = record("QuickSortBenchmark.quickSort", "100000", 120.0, 20);
+
+        RegressionDetector.Report report = new RegressionDetector(0.10, 0.05)
+                .compare(List.of(baseline), List.of(current));
+
+        assertTrue(report.hasRegressions());
+        RegressionDetector.Comparison comparison = report.regressions().get(0);
+        assertEquals(0.20, comparison.slowdown, 0.02);
+        assertTrue(comparison.pValue < 0.05);
+        assertTrue(report.format().contains("REGRESSION  QuickSortBenchmark.quickSort[distribution=RANDOM, size=100000]"),
+                report.format());
+    }
+
+    @Test
+    @DisplayName("Noise within the threshold is not a regression")
+    void testNoiseIsUnchanged() {
+        BenchmarkRecord baseline = record("SortBenchmark.mergeSort", "1000", 100.0, 20);
+        BenchmarkRecord current = record("SortBenchmark.mergeSort", "1000", 103.0, 20);
+
+        RegressionDetector.Report report = new RegressionDetector(0.10, 0.05)
+                .compare(List.of(baseline), List.of(current));
+
+        assertFalse(report.hasRegressions());
+        assertEquals(RegressionDetector.Status.UNCHANGED, report.comparisons.get(0).status);
+    }
+
+    @Test
+    @DisplayName("Throughput drop counts as a regression")
+    void testThroughputRegression() {
+        BenchmarkRecord baseline = new BenchmarkRecord("SelectBenchmark.select", Map.of("size", "10"),
+                "thrpt", "ops/s", samples(1000.0, 10));
+        BenchmarkRecord current = new BenchmarkRecord("SelectBenchmark.select", Map.of("size", "10"),
+                "thrpt", "ops/s", samples(700.0, 10));
+
+        RegressionDetector.Report report = new RegressionDetector(0.10, 0.05)
+                .compare(List.of(baseline), List.of(current));
+
+        assertTrue(report.hasRegressions());
+    }
+
+    @Test
+    @DisplayName("New and missing combinations are listed but do not fail")
+    void testNewAndMissing() {
+        BenchmarkRecord baseline = record("SortBenchmark.quickSort", "10", 1.0, 5);
+        BenchmarkRecord current = record("SortBenchmark.quickSort", "1000", 1.0, 5);
+
+        RegressionDetector.Report report = new RegressionDetector(0.10, 0.05)
+                .compare(List.of(baseline), List.of(current));
+
+        assertFalse(report.hasRegressions());
+        assertEquals(2, report.comparisons.size());
+        assertTrue(report.format().contains("NEW"));
+        assertTrue(report.format().contains("MISSING"));
+    }
+
+    @Test
+    @DisplayName("Baseline survives a save/load round trip")
+    void testBaselineRoundTrip() throws Exception {
+        BenchmarkRecord record = record("SortBenchmark.quickSort", "1000", 50.0, 5);
+        Path file = tempDir.resolve("baselines/quick.json");
+
+        BenchmarkStore.saveBaseline(List.of(record), file);
+        List<BenchmarkRecord> loaded = BenchmarkStore.loadBaseline(file);
+
+        assertEquals(1, loaded.size());
+        assertEquals(record.key(), loaded.get(0).key());
+        assertArrayEquals(record.samples, loaded.get(0).samples);
+    }
+
+    @Test
+    @DisplayName("JMH JSON result parsing")
+    void testReadJmhResults() throws Exception {
+        String json = """
+                [{"jmhVersion":"1.37","benchmark":"org.jokeoa.benchmarks.SortBenchmark.quickSort",
+                  "mode":"avgt","threads":1,"forks":2,
+                  "params":{"distribution":"SORTED","size":"1000"},
+                  "primaryMetric":{"score":10.5,"scoreUnit":"us/op","rawData":[[10.0,11.0],[10.5,10.5]]},
+                  "secondaryMetrics":{}}]
+                """;
+        Path file = tempDir.resolve("jmh-result.json");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+
+        List<BenchmarkRecord> records = BenchmarkStore.readJmhResults(file);
+
+        assertEquals(1, records.size());
+        assertEquals("SortBenchmark.quickSort[distribution=SORTED, size=1000]", records.get(0).key());
+        assertArrayEquals(new double[]{10.0, 11.0, 10.5, 10.5}, records.get(0).samples);
+        assertEquals("us/op", records.get(0).unit);
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new RegressionDetector(-0.1, 0.05), "Should throw for negative threshold");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new RegressionDetector(0.1, 0), "Should throw for zero alpha");
+
+        BenchmarkRecord average = record("SortBenchmark.quickSort", "1000", 10.0, 5);
+        BenchmarkRecord sampled = new BenchmarkRecord("SortBenchmark.quickSort",
+                Map.of("size", "1000", "distribution", "RANDOM"), "sample", "us/op", samples(10.0, 5));
+        IllegalArgumentException mismatch = assertThrows(IllegalArgumentException.class, () ->
+            new RegressionDetector(0.1, 0.05).compare(List.of(average), List.of(sampled)),
+            "Should throw for mismatched modes");
+        assertTrue(mismatch.getMessage().contains("avgt us/op vs sample us/op"), mismatch.getMessage());
+
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class, () ->
+            RegressionCheck.main(new String[]{"compare", "baseline.json", "result.json", "--threshold"}),
+            "Should throw for an option without a value");
+        assertEquals("Missing value for --threshold", missing.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            RegressionCheck.main(new String[]{"compare", "baseline.json", "result.json", "--alpha", "0.01", "--bogus"}),
+            "Should throw for a trailing unknown option");
+    }
+
+    private BenchmarkRecord record(String benchmark, String size, double center, int count) {
+        return new BenchmarkRecord(benchmark, Map.of("size", size, "distribution", "RANDOM"),
+                "avgt", "us/op", samples(center, count));
+    }
+
+    private double[] samples(double center, int count) {
+        double[] samples = new double[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = center * (1 + (random.nextDouble() - 0.5) * 0.04);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,145 @@
+package org.jokeoa;
+
+import java.util.Arrays;
+
+/**
+ * McIlroy's "antiqsort" adversary (A Killer Adversary for Quicksort, 1999).
+ * <p>
+ * The engine sorts item ids 0..n-1 and asks this comparator for their order.
+ * Values are decided lazily: every item starts as "gas" (larger than anything decided),
+ * and an item is frozen to the next smallest value only when a comparison forces it.
+ * Freezing the likely pivot first makes every partition as lopsided as possible,
+ * whatever the pivot rule, and the frozen values form a concrete worst-case input.
+ */
+public class AntiQuicksortAdversary implements IntComparator {
+    private final int[] values;
+    private final int gas;
+    private int solid;
+    private int candidate;
+    private long comparisons;
+
+    /**
+     * @param n number of items the engine will order
+     */
+    public AntiQuicksortAdversary(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Need at least 1 item");
+        }
+        this.values = new int[n];
+        this.gas = n;
+        Arrays.fill(values, gas);
+    }
+
+    @Override
+    public int compare(int x, int y) {
+        comparisons++;
+        if (values[x] == gas && values[y] == gas) {
+            if (x == candidate) {
+                values[x] = solid++;
+            } else {
+                values[y] = solid++;
+            }
+        }
+        if (values[x] == gas) {
+            candidate = x;
+        } else if (values[y] == gas) {
+            candidate = y;
+        }
+        return Integer.compare(values[x], values[y]);
+    }
+
+    /**
+     * Item ids to hand to the engine in place of real data
+     */
+    public int[] items() {
+        int[] items = new int[values.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+        return items;
+    }
+
+    /**
+     * Concrete input consistent with every answer given so far:
+     * input[i] is the value of the item that started at position i.
+     * Items never frozen get the largest values, in position order.
+     */
+    public int[] getInput() {
+        int[] input = values.clone();
+        int next = solid;
+        for (int i = 0; i < input.length; i++) {
+            if (input[i] == gas) {
+                input[i] = next++;
+            }
+        }
+        return input;
+    }
+
+    /**
+     * Number of comparisons answered, including any the engine does not record itself
+     */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Outcome of an attack: the crafted input and the engine's metrics while facing the adversary
+     */
+    public static class Result {
+        public final int[] input;
+        public final SortMetrics metrics;
+
+        Result(int[] input, SortMetrics metrics) {
+            this.input = input;
+            this.metrics = metrics;
+        }
+    }
+
+    /**
+     * Runs QuickSort with the given pivot strategy against a fresh adversary
+     */
+    public static Result attackQuickSort(int n, PivotStrategy strategy) {
+        AntiQuicksortAdversary adversary = new AntiQuicksortAdversary(n);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        SortContext context = new SortContext(adversary.items(), metrics, 7, adversary);
+        QuickSort.sort(context, strategy);
+
+        metrics.endTiming();
+        return new Result(adversary.getInput(), metrics);
+    }
+
+    /**
+     * Runs DeterministicSelect for the k-th smallest (1-based) against a fresh adversary
+     */
+    public static Result attackSelect(int n, int k) {
+        AntiQuicksortAdversary adversary = new AntiQuicksortAdversary(n);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        SortContext context = new SortContext(adversary.items(), metrics, 7, adversary);
+        DeterministicSelect.selectInPlace(context, k);
+
+        metrics.endTiming();
+        return new Result(adversary.getInput(), metrics);
+    }
+
+    /**
+     * Runs DeterministicSelect's introselect for the k-th smallest (1-based) against a fresh adversary
+     */
+    public static Result attackIntroSelect(int n, int k) {
+        AntiQuicksortAdversary adversary = new AntiQuicksortAdversary(n);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        SortContext context = new SortContext(adversary.items(), metrics, 7, adversary);
+        DeterministicSelect.introSelectInPlace(context, k);
+
+        metrics.endTiming();
+        return new Result(adversary.getInput(), metrics);
+    }
+}
@@ -228,6 +228,138 @@ public class ClosestPairPoints {
         return (closest1 != null) ? new PointPair(closest1, closest2, min) : null;
     }
 
+    /**
+     * Same answer as {@link #findClosestPair(Point2D[])} for points held as coordinate arrays.
+     * The recursion works purely on int indices into the set: one index array per sort order
+     * instead of two arrays of references, and no point objects except the two in the result.
+     */
+    public static PointPair findClosestPairIndexed(PointSet points) {
+        if (points == null || points.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+
+        return new IndexedSearch(points, null).run();
+    }
+
+    public static PointPair findClosestPairIndexedWithMetrics(PointSet points, SortMetrics metrics) {
+        if (points == null || points.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        PointPair result = new IndexedSearch(points, metrics).run();
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Divide and conquer over indices. Halves are split by position in x order, so points
+     * sharing the middle x coordinate still land on the side their x-order range says.
+     * The best pair found so far is shared by all levels; it only shrinks, so every strip
+     * may use it as its width, and one strip buffer serves every level.
+     */
+    private static final class IndexedSearch {
+        private final PointSet points;
+        private final double[] xs;
+        private final double[] ys;
+        private final SortMetrics metrics;
+        private final ClosestPairContext context;
+        private int[] rankX;
+        private int[] strip;
+
+        private double best = Double.POSITIVE_INFINITY;
+        private int first;
+        private int second;
+
+        IndexedSearch(PointSet points, SortMetrics metrics) {
+            this.points = points;
+            this.xs = points.xs();
+            this.ys = points.ys();
+            this.metrics = metrics;
+            this.context = new ClosestPairContext(metrics);
+        }
+
+        PointPair run() {
+            int[] byX = IndexSort.sortedBy(xs, metrics);
+            int[] byY = IndexSort.sortedBy(ys, metrics);
+            rankX = new int[byX.length];
+            strip = new int[byX.length];
+            for (int r = 0; r < byX.length; r++) {
+                rankX[byX[r]] = r;
+            }
+
+            search(byX, byY, 0, byX.length - 1);
+            return new PointPair(points.get(first), points.get(second), best);
+        }
+
+        /**
+         * @param byY the indices of byX[left..right] in y order
+         */
+        private void search(int[] byX, int[] byY, int left, int right) {
+            context.enterRecursion();
+            if (right - left + 1 <= 3) {
+                for (int i = left; i <= right; i++) {
+                    for (int j = i + 1; j <= right; j++) {
+                        consider(byX[i], byX[j]);
+                    }
+                }
+                context.exitRecursion();
+                return;
+            }
+
+            int mid = left + (right - left) / 2;
+            double midX = xs[byX[mid]];
+
+            int[] leftY = new int[mid - left + 1];
+            int[] rightY = new int[right - mid];
+            int leftIndex = 0;
+            int rightIndex = 0;
+            for (int index : byY) {
+                if (rankX[index] <= mid) {
+                    leftY[leftIndex++] = index;
+                } else {
+                    rightY[rightIndex++] = index;
+                }
+            }
+
+            search(byX, leftY, left, mid);
+            search(byX, rightY, mid + 1, right);
+
+            // children are done with the shared strip buffer by now
+            int stripSize = 0;
+            for (int index : byY) {
+                context.recordComparison();
+                if (Math.abs(xs[index] - midX) < best) {
+                    strip[stripSize++] = index;
+                }
+            }
+
+            for (int i = 0; i < stripSize; i++) {
+                for (int j = i + 1; j < stripSize; j++) {
+                    context.recordComparison();
+                    if (ys[strip[j]] - ys[strip[i]] >= best) {
+                        break;
+                    }
+                    consider(strip[i], strip[j]);
+                }
+            }
+            context.exitRecursion();
+        }
+
+        private void consider(int i, int j) {
+            double distance = Math.sqrt(points.distanceSquared(i, j));
+            context.recordComparison();
+            if (distance < best) {
+                best = distance;
+                first = i;
+                second = j;
+            }
+        }
+    }
+
     private static class ClosestPairContext {
         private final SortMetrics metrics;
 
@@ -0,0 +1,234 @@
+package org.jokeoa;
+
+/**
+ * Allocation-free closest-pair search. All scratch space is allocated once, one array per role,
+ * and reused by every call of the same size or smaller, so repeated searches only allocate
+ * the returned {@link PointPair}:
+ * <ul>
+ *   <li>xs, ys: coordinates copied from a Point2D[] input,</li>
+ *   <li>order: point indices, sorted by x up front; each recursion level leaves its index
+ *       range sorted by y, so the halves are merged rather than split,</li>
+ *   <li>buffer: merge target, then the strip of the same range.</li>
+ * </ul>
+ * Distances are compared squared and a single square root is taken for the result.
+ * <p>
+ * Not thread-safe: give each thread its own workspace.
+ */
+public class ClosestPairWorkspace {
+    private static final int BRUTE_FORCE_SIZE = 3;
+    private static final int INSERTION_SORT_SIZE = 16;
+
+    private double[] xs;
+    private double[] ys;
+    private int[] order;
+    private int[] buffer;
+    private final Best best = new Best();
+
+    /**
+     * @param capacity largest point count expected; larger inputs grow the workspace once
+     */
+    public ClosestPairWorkspace(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.order = new int[capacity];
+        this.buffer = new int[capacity];
+    }
+
+    public PointPair findClosestPair(Point2D[] points) {
+        if (points == null || points.length < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        int n = points.length;
+        ensureCapacity(n, true);
+        for (int i = 0; i < n; i++) {
+            xs[i] = points[i].x;
+            ys[i] = points[i].y;
+        }
+
+        solve(xs, ys, n);
+        return new PointPair(points[best.first], points[best.second], Math.sqrt(best.distanceSquared));
+    }
+
+    public PointPair findClosestPair(PointSet points) {
+        if (points == null || points.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        ensureCapacity(points.size(), false);
+
+        solve(points.xs(), points.ys(), points.size());
+        return new PointPair(points.get(best.first), points.get(best.second), Math.sqrt(best.distanceSquared));
+    }
+
+    private void solve(double[] xs, double[] ys, int n) {
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        sortByX(xs, order, buffer, 0, n - 1);
+        best.reset();
+        search(xs, ys, order, buffer, 0, n - 1, best);
+    }
+
+    private void ensureCapacity(int n, boolean coordinates) {
+        if (order.length < n) {
+            order = new int[n];
+            buffer = new int[n];
+        }
+        if (coordinates && xs.length < n) {
+            xs = new double[n];
+            ys = new double[n];
+        }
+    }
+
+    /**
+     * Closest pair found so far, as point indices and squared distance
+     */
+    static final class Best {
+        double distanceSquared;
+        int first;
+        int second;
+
+        Best() {
+            reset();
+        }
+
+        void reset() {
+            distanceSquared = Double.POSITIVE_INFINITY;
+            first = -1;
+            second = -1;
+        }
+
+        void offer(int i, int j, double distanceSquared) {
+            if (distanceSquared < this.distanceSquared) {
+                this.distanceSquared = distanceSquared;
+                first = i;
+                second = j;
+            }
+        }
+
+        void offer(Best other) {
+            offer(other.first, other.second, other.distanceSquared);
+        }
+    }
+
+    /**
+     * Stable merge sort of order[lo..hi] by x, using buffer[lo..hi] as scratch
+     */
+    static void sortByX(double[] xs, int[] order, int[] buffer, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_SIZE) {
+            insertionSort(xs, order, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        sortByX(xs, order, buffer, lo, mid);
+        sortByX(xs, order, buffer, mid + 1, hi);
+        merge(xs, order, buffer, lo, mid, hi);
+    }
+
+    /**
+     * Finds the closest pair among the points order[lo..hi], which must be sorted by x,
+     * and leaves that range sorted by y
+     */
+    static void search(double[] xs, double[] ys, int[] order, int[] buffer, int lo, int hi, Best best) {
+        if (hi - lo < BRUTE_FORCE_SIZE) {
+            for (int i = lo; i <= hi; i++) {
+                for (int j = i + 1; j <= hi; j++) {
+                    best.offer(order[i], order[j], distanceSquared(xs, ys, order[i], order[j]));
+                }
+            }
+            insertionSort(ys, order, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        double midX = xs[order[mid]];
+        search(xs, ys, order, buffer, lo, mid, best);
+        search(xs, ys, order, buffer, mid + 1, hi, best);
+        merge(ys, order, buffer, lo, mid, hi);
+        scanStrip(xs, ys, order, buffer, lo, hi, midX, best);
+    }
+
+    /**
+     * Checks pairs across the split line x = midX within the strip of the current best distance;
+     * order[lo..hi] must be sorted by y, and buffer[lo..hi] holds the strip
+     */
+    static void scanStrip(double[] xs, double[] ys, int[] order, int[] buffer, int lo, int hi,
+                          double midX, Best best) {
+        int stripEnd = filterStrip(xs, order, buffer, lo, hi, lo, midX, best.distanceSquared);
+        scanPairs(xs, ys, buffer, lo, stripEnd, best);
+    }
+
+    /**
+     * Copies the points of order[lo..hi] closer than the limit to the line x = midX into strip,
+     * keeping their order
+     * @return the end (exclusive) of the copied points, starting at out
+     */
+    static int filterStrip(double[] xs, int[] order, int[] strip, int lo, int hi, int out,
+                           double midX, double limitSquared) {
+        for (int i = lo; i <= hi; i++) {
+            double dx = xs[order[i]] - midX;
+            if (dx * dx < limitSquared) {
+                strip[out++] = order[i];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Compares every point of strip[from..to) with its successors until they are a best distance
+     * apart in y; the strip must be sorted by y
+     */
+    static void scanPairs(double[] xs, double[] ys, int[] strip, int from, int to, Best best) {
+        for (int i = from; i < to; i++) {
+            int p = strip[i];
+            for (int j = i + 1; j < to; j++) {
+                int q = strip[j];
+                double dy = ys[q] - ys[p];
+                if (dy * dy >= best.distanceSquared) {
+                    break;
+                }
+                best.offer(p, q, distanceSquared(xs, ys, p, q));
+            }
+        }
+    }
+
+    /**
+     * Merges order[lo..mid] and order[mid+1..hi], each sorted by key, through buffer
+     */
+    static void merge(double[] keys, int[] order, int[] buffer, int lo, int mid, int hi) {
+        int i = lo;
+        int j = mid + 1;
+        int k = lo;
+        while (i <= mid && j <= hi) {
+            buffer[k++] = Double.compare(keys[order[j]], keys[order[i]]) < 0 ? order[j++] : order[i++];
+        }
+        while (i <= mid) {
+            buffer[k++] = order[i++];
+        }
+        while (j <= hi) {
+            buffer[k++] = order[j++];
+        }
+        System.arraycopy(buffer, lo, order, lo, hi - lo + 1);
+    }
+
+    private static void insertionSort(double[] keys, int[] order, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int index = order[i];
+            double key = keys[index];
+            int j = i - 1;
+            while (j >= lo && Double.compare(keys[order[j]], key) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    private static double distanceSquared(double[] xs, double[] ys, int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,497 @@
+package org.jokeoa;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class DeterministicSelect {
+    private static final int INTROSELECT_CUTOFF = 16;
+    private static final int INTROSELECT_WORK_FACTOR = 6;
+
+    public static int select(int[] array, int k) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        int[] workingArray = array.clone();
+        return selectKth(workingArray, 0, workingArray.length - 1, k - 1);
+    }
+
+    private static int selectKth(int[] array, int left, int right, int k) {
+        if (left == right) {
+            return array[left];
+        }
+
+        int pivotIndex = medianOfMedians(array, left, right);
+        long equalRange = partitionThreeWay(array, left, right, pivotIndex);
+        int lessEnd = (int) (equalRange >>> 32);
+        int greaterStart = (int) equalRange + 1;
+
+        if (k < lessEnd) {
+            return selectKth(array, left, lessEnd - 1, k);
+        } else if (k >= greaterStart) {
+            return selectKth(array, greaterStart, right, k);
+        } else {
+            return array[k];
+        }
+    }
+
+    /**
+     * Median-of-medians pivot without allocation: each group median is swapped to the front
+     * of the range, the median of that prefix is selected in place, and its index is returned.
+     */
+    private static int medianOfMedians(int[] array, int left, int right) {
+        int n = right - left + 1;
+
+        if (n <= 5) {
+            insertionSort(array, left, right);
+            return left + (n - 1) / 2;
+        }
+
+        int numGroups = (n + 4) / 5;
+
+        for (int i = 0; i < numGroups; i++) {
+            int groupLeft = left + i * 5;
+            int groupRight = Math.min(groupLeft + 4, right);
+
+            insertionSort(array, groupLeft, groupRight);
+            int medianIndex = groupLeft + (groupRight - groupLeft) / 2;
+            swap(array, left + i, medianIndex);
+        }
+
+        int pivotIndex = left + numGroups / 2;
+        selectKth(array, left, left + numGroups - 1, pivotIndex);
+        return pivotIndex;
+    }
+
+    /**
+     * Dijkstra three-way partition of [left, right] around the value at pivotIndex.
+     * Keys equal to the pivot end up together, so selection stops as soon as k falls
+     * among them and low-cardinality inputs stay linear.
+     * @return the range of elements equal to the pivot, packed as (first << 32) | last
+     */
+    private static long partitionThreeWay(int[] array, int left, int right, int pivotIndex) {
+        int pivotValue = array[pivotIndex];
+
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            if (array[i] < pivotValue) {
+                swap(array, lt++, i++);
+            } else if (array[i] > pivotValue) {
+                swap(array, i, gt--);
+            } else {
+                i++;
+            }
+        }
+
+        return ((long) lt << 32) | gt;
+    }
+
+    private static void insertionSort(int[] array, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = array[i];
+            int j = i - 1;
+
+            while (j >= left && array[j] > key) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    public static int selectWithMetrics(int[] array, int k, SortMetrics metrics) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int[] workingArray = array.clone();
+        SortContext context = new SortContext(workingArray, metrics);
+        int result = selectKthWithMetrics(context, 0, workingArray.length - 1, k - 1);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Selects the k-th smallest element (1-based) of the context's array in place,
+     * ordering elements with the context's comparator and recording into its metrics.
+     * Metrics are neither reset nor timed here.
+     */
+    public static int selectInPlace(SortContext context, int k) {
+        int[] array = context.getArray();
+        if (array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return selectKthWithMetrics(context, 0, array.length - 1, k - 1);
+    }
+
+    /**
+     * Selects several order statistics at once (1-based ranks, in any order, duplicates allowed).
+     * The array is partitioned once and each sub-problem only receives the ranks inside it,
+     * so m ranks cost O(n log m) instead of m independent selections over m copies.
+     * @return the selected values, in the order of ranks
+     */
+    public static int[] selectMany(int[] array, int[] ranks) {
+        if (array == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return selectManyInPlace(new SortContext(array.clone()), ranks);
+    }
+
+    /**
+     * Same as {@link #selectMany(int[], int[])} but rearranges the given array instead of a copy.
+     * Afterwards every selected rank holds its final sorted value.
+     */
+    public static int[] selectManyInPlace(int[] array, int[] ranks) {
+        if (array == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return selectManyInPlace(new SortContext(array), ranks);
+    }
+
+    public static int[] selectManyWithMetrics(int[] array, int[] ranks, SortMetrics metrics) {
+        if (array == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int[] result = selectManyInPlace(new SortContext(array.clone(), metrics), ranks);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Multi-rank selection on the context's array in place, using its comparator and metrics.
+     * Metrics are neither reset nor timed here.
+     */
+    public static int[] selectManyInPlace(SortContext context, int[] ranks) {
+        int[] array = context.getArray();
+        if (ranks == null || array.length == 0) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        int[] positions = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            if (ranks[i] < 1 || ranks[i] > array.length) {
+                throw new IllegalArgumentException("Invalid input parameters");
+            }
+            positions[i] = ranks[i] - 1;
+        }
+        Arrays.sort(positions);
+
+        int unique = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (unique == 0 || positions[unique - 1] != positions[i]) {
+                positions[unique++] = positions[i];
+            }
+        }
+
+        if (unique > 0) {
+            selectManyWithMetrics(context, 0, array.length - 1, positions, 0, unique - 1);
+        }
+
+        int[] result = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            context.recordArrayAccess();
+            result[i] = array[ranks[i] - 1];
+        }
+        return result;
+    }
+
+    /**
+     * Places every position in positions[from..to] (sorted, distinct, all within [left, right])
+     */
+    private static void selectManyWithMetrics(SortContext context, int left, int right,
+                                              int[] positions, int from, int to) {
+        context.enterRecursion();
+        while (from <= to && left < right) {
+            if (from == to) {
+                selectKthWithMetrics(context, left, right, positions[from]);
+                break;
+            }
+
+            int pivotIndex = medianOfMediansWithMetrics(context, left, right);
+            long equalRange = partitionThreeWayWithMetrics(context, left, right, pivotIndex);
+            int lessEnd = (int) (equalRange >>> 32);
+            int greaterStart = (int) equalRange + 1;
+
+            // positions[from..split-1] < lessEnd, positions[next..to] >= greaterStart,
+            // anything in between already holds its final value
+            int split = lowerBound(positions, from, to + 1, lessEnd);
+            int next = lowerBound(positions, split, to + 1, greaterStart);
+
+            // recurse into the side with fewer ranks, loop on the other
+            if (split - from < to - next + 1) {
+                selectManyWithMetrics(context, left, lessEnd - 1, positions, from, split - 1);
+                left = greaterStart;
+                from = next;
+            } else {
+                selectManyWithMetrics(context, greaterStart, right, positions, next, to);
+                right = lessEnd - 1;
+                to = split - 1;
+            }
+        }
+        context.exitRecursion();
+    }
+
+    /**
+     * @return index of the first of the sorted values[from..to) that is >= value
+     */
+    private static int lowerBound(int[] values, int from, int to, int value) {
+        int found = Arrays.binarySearch(values, from, to, value);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Introselect: quickselect with a sampled median-of-3 pivot that switches to
+     * median-of-medians pivots once partitions stop making progress, i.e. once the elements
+     * partitioned so far exceed {@value #INTROSELECT_WORK_FACTOR} times the input size
+     * (random data needs about 3n). Runs near quickselect speed on typical data and stays
+     * linear in the worst case. Partitioning is three-way, so duplicates of the pivot are
+     * settled in one pass.
+     */
+    public static int introSelect(int[] array, int k) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return introSelectKth(new SortContext(array.clone()), 0, array.length - 1, k - 1);
+    }
+
+    /**
+     * Same as {@link #introSelect(int[], int)}; {@link SortMetrics#getPivotFallbacks()}
+     * tells whether the call took the median-of-medians path
+     */
+    public static int introSelectWithMetrics(int[] array, int k, SortMetrics metrics) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int result = introSelectKth(new SortContext(array.clone(), metrics), 0, array.length - 1, k - 1);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Introselect on the context's array in place. Metrics are neither reset nor timed here.
+     */
+    public static int introSelectInPlace(SortContext context, int k) {
+        int[] array = context.getArray();
+        if (array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return introSelectKth(context, 0, array.length - 1, k - 1);
+    }
+
+    private static int introSelectKth(SortContext context, int left, int right, int k) {
+        int[] array = context.getArray();
+        context.enterRecursion();
+
+        long budget = (long) INTROSELECT_WORK_FACTOR * (right - left + 1);
+        long work = 0;
+        boolean fallback = false;
+        while (right - left >= INTROSELECT_CUTOFF) {
+            int size = right - left + 1;
+            int pivotIndex = fallback
+                    ? medianOfMediansWithMetrics(context, left, right)
+                    : sampledPivot(context, left, right);
+            long equalRange = partitionThreeWayWithMetrics(context, left, right, pivotIndex);
+            int lessEnd = (int) (equalRange >>> 32);
+            int greaterStart = (int) equalRange + 1;
+
+            context.recordComparison();
+            if (k < lessEnd) {
+                right = lessEnd - 1;
+            } else if (k >= greaterStart) {
+                context.recordComparison();
+                left = greaterStart;
+            } else {
+                context.recordArrayAccess();
+                context.exitRecursion();
+                return array[k];
+            }
+
+            work += size;
+            if (!fallback && work > budget) {
+                fallback = true;
+                context.recordPivotFallback();
+            }
+        }
+
+        insertionSortWithMetrics(context, left, right);
+        context.recordArrayAccess();
+        context.exitRecursion();
+        return array[k];
+    }
+
+    /**
+     * Median of three randomly sampled positions in [left, right]
+     */
+    private static int sampledPivot(SortContext context, int left, int right) {
+        int[] array = context.getArray();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(left, right + 1);
+        int b = random.nextInt(left, right + 1);
+        int c = random.nextInt(left, right + 1);
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+
+        context.recordComparison();
+        context.recordComparison();
+        if (context.compare(array[a], array[b]) < 0) {
+            if (context.compare(array[b], array[c]) < 0) {
+                return b;
+            }
+            context.recordComparison();
+            return context.compare(array[a], array[c]) < 0 ? c : a;
+        }
+        if (context.compare(array[a], array[c]) < 0) {
+            return a;
+        }
+        context.recordComparison();
+        return context.compare(array[b], array[c]) < 0 ? c : b;
+    }
+
+    private static int selectKthWithMetrics(SortContext context, int left, int right, int k) {
+        int[] array = context.getArray();
+        context.enterRecursion();
+
+        if (left == right) {
+            context.recordArrayAccess();
+            context.exitRecursion();
+            return array[left];
+        }
+
+        int pivotIndex = medianOfMediansWithMetrics(context, left, right);
+        long equalRange = partitionThreeWayWithMetrics(context, left, right, pivotIndex);
+        int lessEnd = (int) (equalRange >>> 32);
+        int greaterStart = (int) equalRange + 1;
+
+        context.recordComparison();
+        if (k < lessEnd) {
+            int result = selectKthWithMetrics(context, left, lessEnd - 1, k);
+            context.exitRecursion();
+            return result;
+        } else if (k >= greaterStart) {
+            context.recordComparison();
+            int result = selectKthWithMetrics(context, greaterStart, right, k);
+            context.exitRecursion();
+            return result;
+        } else {
+            context.recordArrayAccess();
+            context.exitRecursion();
+            return array[k];
+        }
+    }
+
+    /**
+     * Same as {@link #medianOfMedians(int[], int, int)}, recording into the context
+     */
+    private static int medianOfMediansWithMetrics(SortContext context, int left, int right) {
+        int n = right - left + 1;
+
+        if (n <= 5) {
+            insertionSortWithMetrics(context, left, right);
+            return left + (n - 1) / 2;
+        }
+
+        int numGroups = (n + 4) / 5;
+
+        for (int i = 0; i < numGroups; i++) {
+            int groupLeft = left + i * 5;
+            int groupRight = Math.min(groupLeft + 4, right);
+
+            insertionSortWithMetrics(context, groupLeft, groupRight);
+            int medianIndex = groupLeft + (groupRight - groupLeft) / 2;
+            swapWithMetrics(context, left + i, medianIndex);
+        }
+
+        int pivotIndex = left + numGroups / 2;
+        selectKthWithMetrics(context, left, left + numGroups - 1, pivotIndex);
+        return pivotIndex;
+    }
+
+    /**
+     * Same as {@link #partitionThreeWay(int[], int, int, int)}, comparing with the context's comparator
+     */
+    private static long partitionThreeWayWithMetrics(SortContext context, int left, int right, int pivotIndex) {
+        int[] array = context.getArray();
+        context.recordArrayAccess();
+        int pivotValue = array[pivotIndex];
+
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            context.recordArrayAccess();
+            context.recordComparison();
+            int cmp = context.compare(array[i], pivotValue);
+            if (cmp < 0) {
+                swapWithMetrics(context, lt++, i++);
+            } else if (cmp > 0) {
+                swapWithMetrics(context, i, gt--);
+            } else {
+                i++;
+            }
+        }
+
+        context.recordPartition(lt - left, right - gt);
+        return ((long) lt << 32) | gt;
+    }
+
+    private static void insertionSortWithMetrics(SortContext context, int left, int right) {
+        int[] array = context.getArray();
+
+        for (int i = left + 1; i <= right; i++) {
+            context.recordArrayAccess();
+            int key = array[i];
+            int j = i - 1;
+
+            while (j >= left) {
+                context.recordArrayAccess();
+                context.recordComparison();
+                if (context.compare(array[j], key) <= 0) {
+                    break;
+                }
+                context.recordArrayAccess();
+                array[j + 1] = array[j];
+                j--;
+            }
+            context.recordArrayAccess();
+            array[j + 1] = key;
+        }
+    }
+
+    private static void swapWithMetrics(SortContext context, int i, int j) {
+        int[] array = context.getArray();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordSwap();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package org.jokeoa;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Element types of little-endian binary data files.
+ * Every value maps to a long key whose signed order matches the value order,
+ * so file-level algorithms can handle all types with one code path.
+ */
+public enum ElementType {
+    INT(Integer.BYTES),
+    LONG(Long.BYTES),
+    DOUBLE(Double.BYTES);
+
+    public final int bytes;
+
+    ElementType(int bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Reads the next element from the buffer as an order-preserving key
+     */
+    public long readKey(ByteBuffer buffer) {
+        switch (this) {
+            case INT:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            default:
+                return sortableKey(buffer.getDouble());
+        }
+    }
+
+    /**
+     * Writes the element represented by the key
+     */
+    public void writeKey(ByteBuffer buffer, long key) {
+        switch (this) {
+            case INT:
+                buffer.putInt((int) key);
+                break;
+            case LONG:
+                buffer.putLong(key);
+                break;
+            default:
+                buffer.putDouble(fromSortableKey(key));
+        }
+    }
+
+    /**
+     * Maps a double to a long with the same order as Double.compare
+     * (-0.0 before 0.0, NaN last)
+     */
+    public static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Inverse of {@link #sortableKey(double)}
+     */
+    public static double fromSortableKey(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    public static ElementType parse(String name) {
+        for (ElementType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown element type: " + name);
+    }
+}
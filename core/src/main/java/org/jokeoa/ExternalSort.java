@@ -0,0 +1,243 @@
+package org.jokeoa;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorts binary files that may be larger than the heap.
+ * The input is cut into chunks that fit in memory, each chunk is sorted with the chosen algorithm
+ * and written as a run, and the runs are merged with a binary heap through memory-mapped windows.
+ * Inputs that fit in one chunk are sorted in memory and written directly.
+ */
+public class ExternalSort {
+    private static final int RUN_WINDOW_BYTES = 8 << 20;
+
+    public enum Algorithm {
+        MERGE,
+        QUICK,
+        INSERTION,
+        /** java.util.Arrays.sort, the only choice for long and double data */
+        JDK;
+
+        public static Algorithm parse(String name) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.name().equalsIgnoreCase(name)) {
+                    return algorithm;
+                }
+            }
+            throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+    }
+
+    /**
+     * @param input file to sort
+     * @param output file to write (replaced)
+     * @param type element type of both files
+     * @param algorithm in-memory algorithm for each chunk
+     * @param chunkElements maximum number of elements sorted in memory at once
+     * @param metrics collector for chunk sorting and merging (reset and timed here)
+     * @return number of runs that were merged (1 if the input fit in memory)
+     */
+    public static int sortFile(Path input, Path output, ElementType type, Algorithm algorithm,
+                               int chunkElements, SortMetrics metrics) throws IOException {
+        if (type != ElementType.INT && algorithm != Algorithm.JDK) {
+            throw new IllegalArgumentException(algorithm + " sorts int data only; use JDK for " + type);
+        }
+        if (chunkElements < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        long count = MappedFiles.elementCount(input, type.bytes);
+        if (count <= chunkElements) {
+            sortChunk(input, output, type, algorithm, 0, (int) count, metrics);
+            metrics.endTiming();
+            return 1;
+        }
+
+        Path runDirectory = Files.createTempDirectory(output.toAbsolutePath().getParent(), "sort-runs");
+        List<Path> runs = new ArrayList<>();
+        try {
+            for (long from = 0; from < count; from += chunkElements) {
+                Path run = runDirectory.resolve("run-" + runs.size() + ".bin");
+                sortChunk(input, run, type, algorithm, from, (int) Math.min(chunkElements, count - from), metrics);
+                runs.add(run);
+            }
+            mergeRuns(runs, output, type, count, metrics);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            Files.deleteIfExists(runDirectory);
+        }
+
+        metrics.endTiming();
+        return runs.size();
+    }
+
+    private static void sortChunk(Path input, Path output, ElementType type, Algorithm algorithm,
+                                  long from, int count, SortMetrics metrics) throws IOException {
+        switch (type) {
+            case INT -> {
+                int[] chunk = MappedFiles.readInts(input, from, count);
+                sortInts(chunk, algorithm, metrics);
+                MappedFiles.writeInts(output, chunk);
+            }
+            case LONG -> {
+                long[] chunk = MappedFiles.readLongs(input, from, count);
+                Arrays.sort(chunk);
+                MappedFiles.writeLongs(output, chunk);
+            }
+            case DOUBLE -> {
+                double[] chunk = MappedFiles.readDoubles(input, from, count);
+                Arrays.sort(chunk);
+                MappedFiles.writeDoubles(output, chunk);
+            }
+        }
+    }
+
+    private static void sortInts(int[] chunk, Algorithm algorithm, SortMetrics metrics) {
+        if (chunk.length < 2) {
+            return;
+        }
+        SortContext context = new SortContext(chunk, metrics);
+        switch (algorithm) {
+            case MERGE -> MergeSort.mergeSort(context, 0, chunk.length - 1);
+            case QUICK -> QuickSort.sort(context, PivotStrategy.RANDOM);
+            case INSERTION -> InsertionSort.sort(context, 0, chunk.length - 1);
+            case JDK -> Arrays.sort(chunk);
+        }
+    }
+
+    /**
+     * k-way merge of sorted runs; each run is read through its own sliding window
+     */
+    private static void mergeRuns(List<Path> runs, Path output, ElementType type, long count,
+                                  SortMetrics metrics) throws IOException {
+        int k = runs.size();
+        RunCursor[] cursors = new RunCursor[k];
+        int[] heap = new int[k];
+        long[] heads = new long[k];
+        int heapSize = 0;
+
+        try (FileChannel out = MappedFiles.openForWrite(output)) {
+            for (int i = 0; i < k; i++) {
+                cursors[i] = new RunCursor(runs.get(i), type);
+                if (cursors[i].hasNext()) {
+                    heads[i] = cursors[i].next();
+                    heap[heapSize] = i;
+                    siftUp(heap, heads, heapSize++, metrics);
+                }
+            }
+
+            long written = 0;
+            while (written < count) {
+                int elements = (int) Math.min(count - written, MappedFiles.WINDOW_BYTES / type.bytes);
+                MappedByteBuffer window = MappedFiles.mapReadWrite(out, written * type.bytes, (long) elements * type.bytes);
+                for (int e = 0; e < elements; e++) {
+                    int run = heap[0];
+                    type.writeKey(window, heads[run]);
+                    metrics.recordArrayAccess();
+
+                    if (cursors[run].hasNext()) {
+                        heads[run] = cursors[run].next();
+                    } else {
+                        heap[0] = heap[--heapSize];
+                    }
+                    siftDown(heap, heads, heapSize, metrics);
+                }
+                written += elements;
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, long[] heads, int index, SortMetrics metrics) {
+        int run = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            metrics.recordComparison();
+            if (heads[heap[parent]] <= heads[run]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = run;
+    }
+
+    private static void siftDown(int[] heap, long[] heads, int size, SortMetrics metrics) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int run = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size) {
+                metrics.recordComparison();
+                if (heads[heap[child + 1]] < heads[heap[child]]) {
+                    child++;
+                }
+            }
+            metrics.recordComparison();
+            if (heads[run] <= heads[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = run;
+    }
+
+    /**
+     * Sequential reader over one run, remapping a fixed-size window as it advances
+     */
+    private static class RunCursor {
+        private final FileChannel channel;
+        private final ElementType type;
+        private final long count;
+        private long position;
+        private MappedByteBuffer window;
+
+        RunCursor(Path run, ElementType type) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.type = type;
+            this.count = channel.size() / type.bytes;
+        }
+
+        boolean hasNext() {
+            return position < count;
+        }
+
+        long next() throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                long elements = Math.min(count - position, RUN_WINDOW_BYTES / type.bytes);
+                window = MappedFiles.mapReadOnly(channel, position * type.bytes, elements * type.bytes);
+            }
+            position++;
+            return type.readKey(window);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.jokeoa;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Exact order statistics of binary files that do not fit in the heap.
+ * Each element is viewed through its order-preserving key ({@link ElementType#readKey}) as an
+ * unsigned number. Histogram passes over the memory-mapped file fix the key's high bits
+ * {@value #HISTOGRAM_BITS} at a time, narrowing every requested rank to one bucket. Once a bucket holds at most
+ * the candidate budget and its keys differ only in their low 32 bits, a last pass loads just
+ * that bucket as ints and {@link DeterministicSelect} finishes the job.
+ * <p>
+ * All passes read the file sequentially through one mapped window; memory is one histogram per
+ * rank still being narrowed plus the candidate arrays.
+ */
+public class FileSelect {
+    public static final int HISTOGRAM_BITS = 16;
+
+    /**
+     * Outcome of a selection: one key per requested rank and the number of file passes made
+     */
+    public static class Result {
+        public final long[] keys;
+        public final int passes;
+
+        Result(long[] keys, int passes) {
+            this.keys = keys;
+            this.passes = passes;
+        }
+    }
+
+    /**
+     * @param file input file
+     * @param type element type of the file
+     * @param ranks 1-based ranks to select, in any order
+     * @param maxCandidates most elements loaded into memory at once for the final selection
+     * @param metrics collector for the in-memory selections (not reset), or null
+     * @return the keys at the given ranks; decode doubles with {@link ElementType#fromSortableKey}
+     */
+    public static Result select(Path file, ElementType type, long[] ranks, int maxCandidates,
+                                SortMetrics metrics) throws IOException {
+        long count = MappedFiles.elementCount(file, type.bytes);
+        if (ranks == null || ranks.length == 0 || count == 0 || maxCandidates < 1) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        for (long rank : ranks) {
+            if (rank < 1 || rank > count) {
+                throw new IllegalArgumentException("Rank must be between 1 and " + count);
+            }
+        }
+
+        int width = type == ElementType.INT ? Integer.SIZE : Long.SIZE;
+        int m = ranks.length;
+        long[] prefix = new long[m];
+        int[] prefixBits = new int[m];
+        long[] rank = new long[m];
+        long[] bucketSize = new long[m];
+        long[] keys = new long[m];
+        boolean[] done = new boolean[m];
+        for (int r = 0; r < m; r++) {
+            rank[r] = ranks[r] - 1;
+            bucketSize[r] = count;
+        }
+
+        int passes = 0;
+        while (true) {
+            int[] narrowing = pending(done, prefixBits, bucketSize, width, maxCandidates, true);
+            if (narrowing.length > 0) {
+                histogramPass(file, type, width, narrowing, prefix, prefixBits, rank, bucketSize);
+                passes++;
+                for (int r : narrowing) {
+                    if (prefixBits[r] == width) {
+                        keys[r] = toKey(prefix[r], width);
+                        done[r] = true;
+                    }
+                }
+                continue;
+            }
+
+            int[] collectible = pending(done, prefixBits, bucketSize, width, maxCandidates, false);
+            if (collectible.length == 0) {
+                break;
+            }
+            collectPass(file, type, width, collectible, maxCandidates, prefix, prefixBits, rank,
+                    bucketSize, keys, done, metrics);
+            passes++;
+        }
+
+        return new Result(keys, passes);
+    }
+
+    /**
+     * Convenience form for a single rank
+     */
+    public static long selectKey(Path file, ElementType type, long k, int maxCandidates,
+                                 SortMetrics metrics) throws IOException {
+        return select(file, type, new long[]{k}, maxCandidates, metrics).keys[0];
+    }
+
+    /**
+     * @param narrowing true for ranks that still need a histogram pass, false for ranks ready to collect
+     */
+    private static int[] pending(boolean[] done, int[] prefixBits, long[] bucketSize, int width,
+                                 int maxCandidates, boolean narrowing) {
+        int n = 0;
+        int[] result = new int[done.length];
+        for (int r = 0; r < done.length; r++) {
+            if (done[r]) {
+                continue;
+            }
+            boolean ready = width - prefixBits[r] <= Integer.SIZE && bucketSize[r] <= maxCandidates;
+            if (ready != narrowing) {
+                result[n++] = r;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static void histogramPass(Path file, ElementType type, int width, int[] narrowing,
+                                      long[] prefix, int[] prefixBits, long[] rank, long[] bucketSize) throws IOException {
+        long[][] histograms = new long[narrowing.length][];
+        int[] bucketBits = new int[narrowing.length];
+        for (int i = 0; i < narrowing.length; i++) {
+            bucketBits[i] = Math.min(HISTOGRAM_BITS, width - prefixBits[narrowing[i]]);
+            histograms[i] = new long[1 << bucketBits[i]];
+        }
+
+        scan(file, type, key -> {
+            long unsigned = toUnsigned(key, width);
+            for (int i = 0; i < narrowing.length; i++) {
+                int r = narrowing[i];
+                int bits = prefixBits[r];
+                if (bits == 0 || unsigned >>> (width - bits) == prefix[r]) {
+                    int shift = width - bits - bucketBits[i];
+                    histograms[i][(int) ((unsigned >>> shift) & ((1L << bucketBits[i]) - 1))]++;
+                }
+            }
+        });
+
+        for (int i = 0; i < narrowing.length; i++) {
+            int r = narrowing[i];
+            long[] histogram = histograms[i];
+            int bucket = 0;
+            while (rank[r] >= histogram[bucket]) {
+                rank[r] -= histogram[bucket];
+                bucket++;
+            }
+            prefix[r] = (prefix[r] << bucketBits[i]) | bucket;
+            prefixBits[r] += bucketBits[i];
+            bucketSize[r] = histogram[bucket];
+        }
+    }
+
+    /**
+     * Loads the buckets of as many ready ranks as fit in the budget and selects within them
+     */
+    private static void collectPass(Path file, ElementType type, int width, int[] collectible, int maxCandidates,
+                                    long[] prefix, int[] prefixBits, long[] rank, long[] bucketSize,
+                                    long[] keys, boolean[] done, SortMetrics metrics) throws IOException {
+        int taken = 0;
+        long budget = maxCandidates;
+        while (taken < collectible.length && bucketSize[collectible[taken]] <= budget) {
+            budget -= bucketSize[collectible[taken]];
+            taken++;
+        }
+
+        int[][] candidates = new int[taken][];
+        int[] filled = new int[taken];
+        for (int i = 0; i < taken; i++) {
+            candidates[i] = new int[(int) bucketSize[collectible[i]]];
+        }
+
+        int selected = taken;
+        scan(file, type, key -> {
+            long unsigned = toUnsigned(key, width);
+            for (int i = 0; i < selected; i++) {
+                int r = collectible[i];
+                int bits = prefixBits[r];
+                if (bits == 0 || unsigned >>> (width - bits) == prefix[r]) {
+                    // the low bits fit in 32; shift them into signed int order
+                    long low = bits == 0 ? unsigned : unsigned & ((1L << (width - bits)) - 1);
+                    candidates[i][filled[i]++] = (int) (low - (1L << 31));
+                }
+            }
+        });
+
+        for (int i = 0; i < taken; i++) {
+            int r = collectible[i];
+            SortContext context = new SortContext(candidates[i], metrics);
+            long low = DeterministicSelect.selectInPlace(context, (int) rank[r] + 1) + (1L << 31);
+            long base = prefixBits[r] == 0 ? 0 : prefix[r] << (width - prefixBits[r]);
+            keys[r] = toKey(base | low, width);
+            done[r] = true;
+        }
+    }
+
+    /**
+     * Key as an unsigned number of the given width, preserving order
+     */
+    private static long toUnsigned(long key, int width) {
+        return width == Integer.SIZE ? key - Integer.MIN_VALUE : key ^ Long.MIN_VALUE;
+    }
+
+    private static long toKey(long unsigned, int width) {
+        return width == Integer.SIZE ? unsigned + Integer.MIN_VALUE : unsigned ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Reads every key of the file in order through one sliding window
+     */
+    private static void scan(Path file, ElementType type, LongConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long count = channel.size() / type.bytes;
+            long position = 0;
+            while (position < count) {
+                int elements = (int) Math.min(count - position, MappedFiles.WINDOW_BYTES / type.bytes);
+                MappedByteBuffer window = MappedFiles.mapReadOnly(channel, position * type.bytes,
+                        (long) elements * type.bytes);
+                for (int i = 0; i < elements; i++) {
+                    consumer.accept(type.readKey(window));
+                }
+                position += elements;
+            }
+        }
+    }
+}
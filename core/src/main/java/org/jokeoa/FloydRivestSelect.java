@@ -0,0 +1,237 @@
+package org.jokeoa;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Floyd–Rivest selection. A random sample of about n^(2/3) elements is selected recursively
+ * to find two pivots that bracket the k-th element with high probability; one pass then splits
+ * the range into below, between and above the pivots, and only the small middle part is searched
+ * further. Each element is first compared with the pivot on the side it most likely falls on,
+ * so the expected cost is n + min(k, n - k) + o(n) comparisons.
+ */
+public class FloydRivestSelect {
+    private static final int SAMPLING_CUTOFF = 600;
+    private static final int INSERTION_CUTOFF = 16;
+
+    public static int select(int[] array, int k) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        SortContext context = new SortContext(array.clone());
+        return selectKth(context, 0, array.length - 1, k - 1);
+    }
+
+    public static int selectWithMetrics(int[] array, int k, SortMetrics metrics) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        SortContext context = new SortContext(array.clone(), metrics);
+        int result = selectKth(context, 0, array.length - 1, k - 1);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Selects the k-th smallest element (1-based) of the context's array in place.
+     * Metrics are neither reset nor timed here.
+     */
+    public static int selectInPlace(SortContext context, int k) {
+        int[] array = context.getArray();
+        if (array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return selectKth(context, 0, array.length - 1, k - 1);
+    }
+
+    /**
+     * Selects the k-th smallest element (1-based) of the segment [left, right] in place;
+     * afterwards it sits at index left + k - 1. Metrics are neither reset nor timed here.
+     */
+    public static int selectInPlace(SortContext context, int left, int right, int k) {
+        int[] array = context.getArray();
+        if (left < 0 || right >= array.length || left > right || k < 1 || k > right - left + 1) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return selectKth(context, left, right, left + k - 1);
+    }
+
+    /**
+     * Places the element of rank k (absolute index) at array[k] and returns it
+     */
+    private static int selectKth(SortContext context, int left, int right, int k) {
+        int[] array = context.getArray();
+        context.enterRecursion();
+
+        while (right - left + 1 > SAMPLING_CUTOFF) {
+            int n = right - left + 1;
+            double z = Math.log(n);
+            int sampleSize = (int) (0.5 * Math.exp(2 * z / 3));
+            int gap = (int) (0.5 * Math.sqrt(z * sampleSize * (n - sampleSize) / n));
+
+            // move a random sample to the front of the range
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < sampleSize; i++) {
+                swap(context, left + i, random.nextInt(left + i, right + 1));
+            }
+
+            long scaled = (long) (k - left) * sampleSize / n;
+            int lowRank = (int) Math.max(0, scaled - gap);
+            int highRank = (int) Math.min(sampleSize - 1, scaled + gap);
+            selectKth(context, left, left + sampleSize - 1, left + lowRank);
+            selectKth(context, left + lowRank, left + sampleSize - 1, left + highRank);
+
+            context.recordArrayAccess();
+            context.recordArrayAccess();
+            int low = array[left + lowRank];
+            int high = array[left + highRank];
+
+            long bounds = partition(context, left, right, low, high, k - left >= right - k);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds + 1;
+
+            context.recordComparison();
+            if (k < lessEnd) {
+                right = lessEnd - 1;
+            } else if (k >= greaterStart) {
+                left = greaterStart;
+            } else if (lessEnd == left && greaterStart == right + 1) {
+                // the pivots did not split anything off; finish without sampling
+                break;
+            } else {
+                left = lessEnd;
+                right = greaterStart - 1;
+                context.recordComparison();
+                if (context.compare(low, high) == 0) {
+                    break;
+                }
+            }
+        }
+
+        quickSelect(context, left, right, k);
+        context.recordArrayAccess();
+        context.exitRecursion();
+        return array[k];
+    }
+
+    /**
+     * Splits [left, right] into elements below low, between low and high, and above high.
+     * @param lowFirst whether most elements are expected below low (k in the upper half),
+     *                 in which case they are tested against low first
+     * @return the middle range, packed as (first << 32) | last
+     */
+    private static long partition(SortContext context, int left, int right, int low, int high, boolean lowFirst) {
+        int[] array = context.getArray();
+        int lt = left;
+        int gt = right;
+        int i = left;
+
+        while (i <= gt) {
+            context.recordArrayAccess();
+            int value = array[i];
+            context.recordComparison();
+            if (lowFirst) {
+                if (context.compare(value, low) < 0) {
+                    swap(context, lt++, i++);
+                    continue;
+                }
+                context.recordComparison();
+                if (context.compare(value, high) > 0) {
+                    swap(context, i, gt--);
+                } else {
+                    i++;
+                }
+            } else {
+                if (context.compare(value, high) > 0) {
+                    swap(context, i, gt--);
+                    continue;
+                }
+                context.recordComparison();
+                if (context.compare(value, low) < 0) {
+                    swap(context, lt++, i++);
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        context.recordPartition(lt - left, right - gt);
+        return ((long) lt << 32) | gt;
+    }
+
+    /**
+     * Three-way quickselect with a random median-of-3 pivot for ranges below the sampling cutoff
+     */
+    private static void quickSelect(SortContext context, int left, int right, int k) {
+        int[] array = context.getArray();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (right - left >= INSERTION_CUTOFF) {
+            int a = array[random.nextInt(left, right + 1)];
+            int b = array[random.nextInt(left, right + 1)];
+            int c = array[random.nextInt(left, right + 1)];
+            context.recordComparison();
+            context.recordComparison();
+            context.recordComparison();
+            int pivot = median(context, a, b, c);
+
+            long bounds = partition(context, left, right, pivot, pivot, k - left >= right - k);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds + 1;
+            if (k < lessEnd) {
+                right = lessEnd - 1;
+            } else if (k >= greaterStart) {
+                left = greaterStart;
+            } else {
+                return;
+            }
+        }
+
+        for (int i = left + 1; i <= right; i++) {
+            context.recordArrayAccess();
+            int key = array[i];
+            int j = i - 1;
+            while (j >= left) {
+                context.recordArrayAccess();
+                context.recordComparison();
+                if (context.compare(array[j], key) <= 0) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private static int median(SortContext context, int a, int b, int c) {
+        if (context.compare(a, b) > 0) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        if (context.compare(b, c) <= 0) {
+            return b;
+        }
+        return context.compare(a, c) >= 0 ? a : c;
+    }
+
+    private static void swap(SortContext context, int i, int j) {
+        int[] array = context.getArray();
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        context.recordSwap();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+    }
+}
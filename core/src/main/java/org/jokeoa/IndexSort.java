@@ -0,0 +1,34 @@
+package org.jokeoa;
+
+/**
+ * Sorts index permutations by a primitive key array, so structure-of-arrays data can be
+ * ordered without moving or boxing it. Uses {@link MergeSort} with a comparator over the keys;
+ * equal keys keep their index order.
+ */
+public class IndexSort {
+
+    /**
+     * @return the indices 0..keys.length-1 in ascending Double.compare order of their keys
+     */
+    public static int[] sortedBy(double[] keys) {
+        return sortedBy(keys, null);
+    }
+
+    /**
+     * @param metrics collector for the sort (not reset), or null
+     */
+    public static int[] sortedBy(double[] keys, SortMetrics metrics) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        int[] indices = new int[keys.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        if (indices.length > 1) {
+            SortContext context = new SortContext(indices, metrics, 7, (a, b) -> Double.compare(keys[a], keys[b]));
+            MergeSort.mergeSort(context, 0, indices.length - 1);
+        }
+        return indices;
+    }
+}
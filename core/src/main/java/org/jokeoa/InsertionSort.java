@@ -17,7 +17,7 @@ public class InsertionSort {
             int j = i - 1;
 
 
-            while (j >= left && array[j] > key) {
+            while (j >= left && context.compare(array[j], key) > 0) {
                 context.recordComparison();
                 context.recordArrayAccess();
 
@@ -0,0 +1,13 @@
+package org.jokeoa;
+
+/**
+ * Ordering of primitive ints, used in place of the natural order by the SortContext-based algorithms.
+ */
+@FunctionalInterface
+public interface IntComparator {
+
+    /**
+     * @return negative, zero or positive as a is less than, equal to or greater than b
+     */
+    int compare(int a, int b);
+}
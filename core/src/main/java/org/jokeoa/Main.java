@@ -0,0 +1,212 @@
+package org.jokeoa;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line tool over little-endian binary files (int, long or double elements;
+ * point files hold interleaved x, y doubles). Results and metrics are printed as JSON.
+ */
+public class Main {
+    private static final String USAGE = String.join("\n",
+            "Usage:",
+            "  sort         [--algorithm merge|quick|insertion|jdk] [--type int|long|double] [--chunk <elements>] <input> <output>",
+            "  select-kth   --k <k> [--type int|long|double] [--candidates <elements>] <input>",
+            "  percentiles  [--p 50,90,99] [--type int|long|double] [--candidates <elements>] <input>",
+            "  closest-pair <points>");
+
+    public static void main(String[] args) {
+        try {
+            System.out.println(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs one command and returns its JSON report
+     */
+    public static String run(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Missing command");
+        }
+
+        Map<String, String> options = new HashMap<>();
+        List<String> files = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                files.add(args[i]);
+            }
+        }
+
+        ElementType type = ElementType.parse(options.getOrDefault("type", "int"));
+        switch (args[0]) {
+            case "sort":
+                requireFiles(files, 2);
+                return sort(Path.of(files.get(0)), Path.of(files.get(1)), type,
+                        ExternalSort.Algorithm.parse(options.getOrDefault("algorithm", "merge")),
+                        options.containsKey("chunk") ? Integer.parseInt(options.get("chunk")) : defaultChunk(type));
+            case "select-kth":
+                requireFiles(files, 1);
+                if (!options.containsKey("k")) {
+                    throw new IllegalArgumentException("select-kth needs --k");
+                }
+                return select(Path.of(files.get(0)), type, null, Long.parseLong(options.get("k")),
+                        candidateBudget(options));
+            case "percentiles":
+                requireFiles(files, 1);
+                return select(Path.of(files.get(0)), type,
+                        parsePercentiles(options.getOrDefault("p", "50,90,95,99,99.9")), 0, candidateBudget(options));
+            case "closest-pair":
+                requireFiles(files, 1);
+                return closestPair(Path.of(files.get(0)));
+            default:
+                throw new IllegalArgumentException("Unknown command: " + args[0]);
+        }
+    }
+
+    private static String sort(Path input, Path output, ElementType type, ExternalSort.Algorithm algorithm,
+                               int chunk) throws IOException {
+        SortMetrics metrics = new SortMetrics();
+        int runs = ExternalSort.sortFile(input, output, type, algorithm, chunk, metrics);
+        long count = MappedFiles.elementCount(output, type.bytes);
+
+        return String.format(Locale.ROOT, "{\"command\":\"sort\",\"type\":\"%s\",\"elements\":%d,\"runs\":%d,\"metrics\":%s}",
+                type.name().toLowerCase(Locale.ROOT), count, runs,
+                metrics.toJson(algorithm.name().toLowerCase(Locale.ROOT), count));
+    }
+
+    /**
+     * Selects either one rank k or the given percentiles (nearest-rank definition).
+     * Runs out of core, so the file may be larger than the heap.
+     */
+    private static String select(Path input, ElementType type, double[] percentiles, long k,
+                                 int maxCandidates) throws IOException {
+        long count = MappedFiles.elementCount(input, type.bytes);
+        if (count == 0) {
+            throw new IllegalArgumentException("Input file is empty");
+        }
+
+        long[] ranks;
+        if (percentiles == null) {
+            if (k < 1 || k > count) {
+                throw new IllegalArgumentException("k must be between 1 and " + count);
+            }
+            ranks = new long[]{k};
+        } else {
+            ranks = new long[percentiles.length];
+            for (int i = 0; i < ranks.length; i++) {
+                ranks[i] = Math.max(1, (long) Math.ceil(percentiles[i] / 100.0 * count));
+            }
+        }
+
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+        FileSelect.Result selection = FileSelect.select(input, type, ranks, maxCandidates, metrics);
+        metrics.endTiming();
+
+        String[] values = new String[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            long key = selection.keys[i];
+            values[i] = type == ElementType.DOUBLE ? jsonNumber(ElementType.fromSortableKey(key)) : Long.toString(key);
+        }
+
+        StringBuilder results = new StringBuilder("[");
+        for (int i = 0; i < ranks.length; i++) {
+            if (i > 0) {
+                results.append(',');
+            }
+            results.append("{");
+            if (percentiles != null) {
+                results.append("\"percentile\":").append(jsonNumber(percentiles[i])).append(',');
+            }
+            results.append("\"rank\":").append(ranks[i]).append(",\"value\":").append(values[i]).append('}');
+        }
+        results.append(']');
+
+        return String.format(Locale.ROOT,
+                "{\"command\":\"%s\",\"type\":\"%s\",\"elements\":%d,\"passes\":%d,\"results\":%s,\"metrics\":%s}",
+                percentiles == null ? "select-kth" : "percentiles", type.name().toLowerCase(Locale.ROOT), count,
+                selection.passes, results, metrics.toJson("file_select", count));
+    }
+
+    private static String closestPair(Path input) throws IOException {
+        long doubles = MappedFiles.elementCount(input, Double.BYTES);
+        if (doubles % 2 != 0) {
+            throw new IllegalArgumentException("Point file must hold x, y pairs");
+        }
+        // x and y are read into one interleaved array before being split
+        if (doubles > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many points for an array: at most "
+                    + (Integer.MAX_VALUE - 8) / 2 + " points, file holds " + doubles / 2);
+        }
+
+        PointSet points = PointSet.fromInterleaved(MappedFiles.readDoubles(input, 0, (int) doubles));
+
+        SortMetrics metrics = new SortMetrics();
+        PointPair pair = ClosestPairPoints.findClosestPairIndexedWithMetrics(points, metrics);
+
+        return String.format(Locale.ROOT,
+                "{\"command\":\"closest-pair\",\"points\":%d,\"point1\":[%s,%s],\"point2\":[%s,%s],\"distance\":%s,\"metrics\":%s}",
+                points.size(), jsonNumber(pair.point1.x), jsonNumber(pair.point1.y),
+                jsonNumber(pair.point2.x), jsonNumber(pair.point2.y), jsonNumber(pair.distance),
+                metrics.toJson("closest_pair", points.size()));
+    }
+
+    /**
+     * A quarter of the heap per chunk, leaving room for MergeSort's buffer and the I/O windows
+     */
+    private static int defaultChunk(ElementType type) {
+        long elements = Runtime.getRuntime().maxMemory() / 4 / type.bytes;
+        return (int) Math.max(1, Math.min(elements, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * Most candidates loaded for the final in-memory selection; a quarter of the heap by default
+     */
+    private static int candidateBudget(Map<String, String> options) {
+        if (options.containsKey("candidates")) {
+            return Integer.parseInt(options.get("candidates"));
+        }
+        long elements = Runtime.getRuntime().maxMemory() / 4 / Integer.BYTES;
+        return (int) Math.max(1, Math.min(elements, Integer.MAX_VALUE - 8));
+    }
+
+    private static double[] parsePercentiles(String list) {
+        String[] parts = list.split(",");
+        double[] percentiles = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            percentiles[i] = Double.parseDouble(parts[i].trim());
+            if (percentiles[i] < 0 || percentiles[i] > 100) {
+                throw new IllegalArgumentException("Percentile out of range: " + parts[i]);
+            }
+        }
+        return percentiles;
+    }
+
+    private static void requireFiles(List<String> files, int count) {
+        if (files.size() != count) {
+            throw new IllegalArgumentException("Expected " + count + " file argument(s)");
+        }
+    }
+
+    private static String jsonNumber(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "\"" + value + "\"";
+    }
+}
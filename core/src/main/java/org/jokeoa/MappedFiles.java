@@ -0,0 +1,190 @@
+package org.jokeoa;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Little-endian binary files read and written through memory-mapped windows.
+ * Only one window is mapped at a time, so file size is not limited by the heap.
+ */
+public class MappedFiles {
+    /** Size of each mapped window; a multiple of every element size */
+    public static final int WINDOW_BYTES = 64 << 20;
+
+    /**
+     * Writes count ints pulled from the source, replacing the file
+     */
+    public static void writeInts(Path file, long count, IntSupplier source) throws IOException {
+        try (FileChannel channel = openForWrite(file)) {
+            long remaining = count;
+            long position = 0;
+            while (remaining > 0) {
+                int elements = (int) Math.min(remaining, WINDOW_BYTES / Integer.BYTES);
+                MappedByteBuffer window = mapReadWrite(channel, position, (long) elements * Integer.BYTES);
+                for (int i = 0; i < elements; i++) {
+                    window.putInt(source.getAsInt());
+                }
+                position += (long) elements * Integer.BYTES;
+                remaining -= elements;
+            }
+        }
+    }
+
+    /**
+     * Writes count longs pulled from the source, replacing the file
+     */
+    public static void writeLongs(Path file, long count, LongSupplier source) throws IOException {
+        try (FileChannel channel = openForWrite(file)) {
+            long remaining = count;
+            long position = 0;
+            while (remaining > 0) {
+                int elements = (int) Math.min(remaining, WINDOW_BYTES / Long.BYTES);
+                MappedByteBuffer window = mapReadWrite(channel, position, (long) elements * Long.BYTES);
+                for (int i = 0; i < elements; i++) {
+                    window.putLong(source.getAsLong());
+                }
+                position += (long) elements * Long.BYTES;
+                remaining -= elements;
+            }
+        }
+    }
+
+    /**
+     * Writes count doubles pulled from the source, replacing the file
+     */
+    public static void writeDoubles(Path file, long count, DoubleSupplier source) throws IOException {
+        try (FileChannel channel = openForWrite(file)) {
+            long remaining = count;
+            long position = 0;
+            while (remaining > 0) {
+                int elements = (int) Math.min(remaining, WINDOW_BYTES / Double.BYTES);
+                MappedByteBuffer window = mapReadWrite(channel, position, (long) elements * Double.BYTES);
+                for (int i = 0; i < elements; i++) {
+                    window.putDouble(source.getAsDouble());
+                }
+                position += (long) elements * Double.BYTES;
+                remaining -= elements;
+            }
+        }
+    }
+
+    /**
+     * Writes the whole array, replacing the file
+     */
+    public static void writeInts(Path file, int[] array) throws IOException {
+        int[] next = {0};
+        writeInts(file, array.length, () -> array[next[0]++]);
+    }
+
+    /**
+     * Writes the whole array, replacing the file
+     */
+    public static void writeLongs(Path file, long[] array) throws IOException {
+        int[] next = {0};
+        writeLongs(file, array.length, () -> array[next[0]++]);
+    }
+
+    /**
+     * Writes the whole array, replacing the file
+     */
+    public static void writeDoubles(Path file, double[] array) throws IOException {
+        int[] next = {0};
+        writeDoubles(file, array.length, () -> array[next[0]++]);
+    }
+
+    /**
+     * @return number of elements of the given size in the file
+     */
+    public static long elementCount(Path file, int elementBytes) throws IOException {
+        long size = Files.size(file);
+        if (size % elementBytes != 0) {
+            throw new IllegalArgumentException(file + " is not a whole number of " + elementBytes + "-byte elements");
+        }
+        return size / elementBytes;
+    }
+
+    /**
+     * Reads count ints starting at element index from
+     */
+    public static int[] readInts(Path file, long from, int count) throws IOException {
+        int[] array = new int[count];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int done = 0;
+            while (done < count) {
+                int elements = Math.min(count - done, WINDOW_BYTES / Integer.BYTES);
+                mapReadOnly(channel, (from + done) * Integer.BYTES, (long) elements * Integer.BYTES)
+                        .asIntBuffer().get(array, done, elements);
+                done += elements;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Reads count longs starting at element index from
+     */
+    public static long[] readLongs(Path file, long from, int count) throws IOException {
+        long[] array = new long[count];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int done = 0;
+            while (done < count) {
+                int elements = Math.min(count - done, WINDOW_BYTES / Long.BYTES);
+                mapReadOnly(channel, (from + done) * Long.BYTES, (long) elements * Long.BYTES)
+                        .asLongBuffer().get(array, done, elements);
+                done += elements;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Reads count doubles starting at element index from
+     */
+    public static double[] readDoubles(Path file, long from, int count) throws IOException {
+        double[] array = new double[count];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int done = 0;
+            while (done < count) {
+                int elements = Math.min(count - done, WINDOW_BYTES / Double.BYTES);
+                mapReadOnly(channel, (from + done) * Double.BYTES, (long) elements * Double.BYTES)
+                        .asDoubleBuffer().get(array, done, elements);
+                done += elements;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Maps part of a file for reading in little-endian order
+     */
+    public static MappedByteBuffer mapReadOnly(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        return window;
+    }
+
+    /**
+     * Opens a file for mapped writing, truncating it
+     */
+    public static FileChannel openForWrite(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Maps part of a file for writing in little-endian order, growing the file if needed
+     */
+    public static MappedByteBuffer mapReadWrite(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        return window;
+    }
+}
@@ -25,7 +25,7 @@ public class MergeSort {
 
         while (i < leftSize && j <= right) {
             context.recordComparison();
-            if (buffer[i] <= array[j]) {
+            if (context.compare(buffer[i], array[j]) <= 0) {
                 array[k] = buffer[i];
                 i++;
                 context.recordArrayAccess();
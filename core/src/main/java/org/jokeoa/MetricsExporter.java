@@ -0,0 +1,185 @@
+package org.jokeoa;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Embedded HTTP endpoint publishing a {@link MetricsRegistry}.
+ * Serves Prometheus exposition text on /metrics and JSON on /metrics.json.
+ * Binds to the loopback interface only and handles scrapes on its own thread.
+ */
+public class MetricsExporter implements AutoCloseable {
+    private static final String PREFIX = "jokeoa_algorithm_";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsExporter(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts serving the registry on localhost
+     * @param registry registry to publish
+     * @param port port to bind, or 0 for an ephemeral port
+     * @return running exporter
+     */
+    public static MetricsExporter start(MetricsRegistry registry, int port) throws IOException {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry is required");
+        }
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.createContext("/metrics", exchange ->
+                respond(exchange, "text/plain; version=0.0.4; charset=utf-8", registry, MetricsExporter::renderPrometheus));
+        server.createContext("/metrics.json", exchange ->
+                respond(exchange, "application/json; charset=utf-8", registry, MetricsExporter::renderJson));
+        server.setExecutor(executor);
+        server.start();
+
+        return new MetricsExporter(server, executor);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, MetricsRegistry registry,
+                                Function<List<MetricsRegistry.AlgorithmSnapshot>, String> renderer) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = renderer.apply(registry.snapshot()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Renders snapshots in the Prometheus text exposition format
+     */
+    public static String renderPrometheus(List<MetricsRegistry.AlgorithmSnapshot> snapshots) {
+        StringBuilder sb = new StringBuilder();
+
+        appendFamily(sb, "runs_total", "counter", "Completed runs", snapshots, s -> s.runs);
+        appendFamily(sb, "elements_total", "counter", "Elements processed", snapshots, s -> s.elements);
+        appendFamily(sb, "comparisons_total", "counter", "Element comparisons", snapshots, s -> s.comparisons);
+        appendFamily(sb, "array_accesses_total", "counter", "Array reads and writes", snapshots, s -> s.arrayAccesses);
+        appendFamily(sb, "swaps_total", "counter", "Element swaps", snapshots, s -> s.swaps);
+        appendFamily(sb, "partition_calls_total", "counter", "Partition operations", snapshots, s -> s.partitionCalls);
+        appendFamily(sb, "partition_balance_percent", "gauge",
+                "Average partition deviation from a perfect split", snapshots, s -> s.averagePartitionBalance);
+        appendFamily(sb, "worst_partition_percent", "gauge",
+                "Worst partition deviation from a perfect split", snapshots, s -> s.worstPartition);
+        appendFamily(sb, "max_recursion_depth", "gauge", "Deepest recursion seen", snapshots, s -> s.maxRecursionDepth);
+        appendFamily(sb, "pivot_fallbacks_total", "counter",
+                "Introselect calls that fell back to median-of-medians", snapshots, s -> s.pivotFallbacks);
+
+        String latency = PREFIX + "latency_seconds";
+        sb.append("# HELP ").append(latency).append(" Run latency\n");
+        sb.append("# TYPE ").append(latency).append(" histogram\n");
+        for (MetricsRegistry.AlgorithmSnapshot s : snapshots) {
+            long cumulative = 0;
+            for (int i = 0; i < MetricsRegistry.LATENCY_BUCKETS.length; i++) {
+                cumulative += s.latencyBucketCounts[i];
+                sb.append(latency).append("_bucket{algorithm=\"").append(escape(s.algorithm))
+                        .append("\",le=\"").append(format(MetricsRegistry.LATENCY_BUCKETS[i])).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            sb.append(latency).append("_bucket{algorithm=\"").append(escape(s.algorithm))
+                    .append("\",le=\"+Inf\"} ").append(s.runs).append('\n');
+            sb.append(latency).append("_sum{algorithm=\"").append(escape(s.algorithm)).append("\"} ")
+                    .append(format(s.latencySecondsSum)).append('\n');
+            sb.append(latency).append("_count{algorithm=\"").append(escape(s.algorithm)).append("\"} ")
+                    .append(s.runs).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Renders snapshots as a JSON array with one object per algorithm
+     */
+    public static String renderJson(List<MetricsRegistry.AlgorithmSnapshot> snapshots) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < snapshots.size(); i++) {
+            MetricsRegistry.AlgorithmSnapshot s = snapshots.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"algorithm\":\"").append(escape(s.algorithm)).append('"')
+                    .append(",\"runs\":").append(s.runs)
+                    .append(",\"elements\":").append(s.elements)
+                    .append(",\"comparisons\":").append(s.comparisons)
+                    .append(",\"arrayAccesses\":").append(s.arrayAccesses)
+                    .append(",\"swaps\":").append(s.swaps)
+                    .append(",\"partitionCalls\":").append(s.partitionCalls)
+                    .append(",\"averagePartitionBalance\":").append(format(s.averagePartitionBalance))
+                    .append(",\"worstPartition\":").append(s.worstPartition)
+                    .append(",\"maxRecursionDepth\":").append(s.maxRecursionDepth)
+                    .append(",\"pivotFallbacks\":").append(s.pivotFallbacks)
+                    .append(",\"latencySecondsSum\":").append(format(s.latencySecondsSum))
+                    .append(",\"latencyBuckets\":[");
+            for (int b = 0; b < MetricsRegistry.LATENCY_BUCKETS.length; b++) {
+                if (b > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"le\":").append(format(MetricsRegistry.LATENCY_BUCKETS[b]))
+                        .append(",\"count\":").append(s.latencyBucketCounts[b]).append('}');
+            }
+            sb.append("]}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void appendFamily(StringBuilder sb, String name, String type, String help,
+                                     List<MetricsRegistry.AlgorithmSnapshot> snapshots,
+                                     Function<MetricsRegistry.AlgorithmSnapshot, Number> value) {
+        String metric = PREFIX + name;
+        sb.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+        for (MetricsRegistry.AlgorithmSnapshot s : snapshots) {
+            Number number = value.apply(s);
+            sb.append(metric).append("{algorithm=\"").append(escape(s.algorithm)).append("\"} ")
+                    .append(number instanceof Double ? format(number.doubleValue()) : number.toString())
+                    .append('\n');
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
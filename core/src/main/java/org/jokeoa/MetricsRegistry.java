@@ -0,0 +1,153 @@
+package org.jokeoa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe aggregator of finished {@link SortMetrics} runs, keyed by algorithm name.
+ * Recording only touches adders and atomics, so sorting threads never wait on readers,
+ * and {@link #snapshot()} never waits on sorting threads.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Upper bounds (in seconds) of the latency histogram buckets
+     */
+    public static final double[] LATENCY_BUCKETS = {
+            0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1.0, 5.0, 10.0
+    };
+
+    private final ConcurrentHashMap<String, AlgorithmStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a finished run to the aggregate of the given algorithm
+     * @param algorithm algorithm name, used as the metric label (e.g. "quick_sort")
+     * @param inputSize number of elements (or points) processed by the run
+     * @param metrics metrics collected by the run
+     */
+    public void record(String algorithm, int inputSize, SortMetrics metrics) {
+        if (algorithm == null || metrics == null) {
+            throw new IllegalArgumentException("Algorithm name and metrics are required");
+        }
+        stats.computeIfAbsent(algorithm, AlgorithmStats::new).add(inputSize, metrics);
+    }
+
+    /**
+     * Returns an immutable copy of the current aggregates, ordered by algorithm name
+     */
+    public List<AlgorithmSnapshot> snapshot() {
+        List<AlgorithmSnapshot> result = new ArrayList<>(stats.size());
+        for (AlgorithmStats algorithmStats : stats.values()) {
+            result.add(algorithmStats.snapshot());
+        }
+        result.sort((a, b) -> a.algorithm.compareTo(b.algorithm));
+        return result;
+    }
+
+    /**
+     * Drops all aggregates
+     */
+    public void clear() {
+        stats.clear();
+    }
+
+    /**
+     * Immutable view of one algorithm's aggregate at the time of the snapshot
+     */
+    public static class AlgorithmSnapshot {
+        public final String algorithm;
+        public final long runs;
+        public final long elements;
+        public final long comparisons;
+        public final long arrayAccesses;
+        public final long swaps;
+        public final long partitionCalls;
+        public final double averagePartitionBalance;
+        public final int worstPartition;
+        public final int maxRecursionDepth;
+        public final long pivotFallbacks;
+        public final double latencySecondsSum;
+        public final long[] latencyBucketCounts;
+
+        AlgorithmSnapshot(String algorithm, long runs, long elements, long comparisons,
+                          long arrayAccesses, long swaps, long partitionCalls,
+                          double averagePartitionBalance, int worstPartition, int maxRecursionDepth,
+                          long pivotFallbacks, double latencySecondsSum, long[] latencyBucketCounts) {
+            this.algorithm = algorithm;
+            this.runs = runs;
+            this.elements = elements;
+            this.comparisons = comparisons;
+            this.arrayAccesses = arrayAccesses;
+            this.swaps = swaps;
+            this.partitionCalls = partitionCalls;
+            this.averagePartitionBalance = averagePartitionBalance;
+            this.worstPartition = worstPartition;
+            this.maxRecursionDepth = maxRecursionDepth;
+            this.pivotFallbacks = pivotFallbacks;
+            this.latencySecondsSum = latencySecondsSum;
+            this.latencyBucketCounts = latencyBucketCounts;
+        }
+    }
+
+    private static class AlgorithmStats {
+        private final String algorithm;
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder arrayAccesses = new LongAdder();
+        private final LongAdder swaps = new LongAdder();
+        private final LongAdder partitionCalls = new LongAdder();
+        private final DoubleAdder partitionBalanceSum = new DoubleAdder();
+        private final AtomicInteger worstPartition = new AtomicInteger();
+        private final AtomicInteger maxRecursionDepth = new AtomicInteger();
+        private final LongAdder pivotFallbacks = new LongAdder();
+        private final DoubleAdder latencySecondsSum = new DoubleAdder();
+        private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS.length];
+
+        AlgorithmStats(String algorithm) {
+            this.algorithm = algorithm;
+            for (int i = 0; i < latencyBuckets.length; i++) {
+                latencyBuckets[i] = new LongAdder();
+            }
+        }
+
+        void add(int inputSize, SortMetrics metrics) {
+            runs.increment();
+            elements.add(inputSize);
+            comparisons.add(metrics.getTotalComparisons());
+            arrayAccesses.add(metrics.getTotalArrayAccesses());
+            swaps.add(metrics.getTotalSwaps());
+            partitionCalls.add(metrics.getPartitionCalls());
+            partitionBalanceSum.add(metrics.getAveragePartitionBalance() * metrics.getPartitionCalls());
+            worstPartition.accumulateAndGet(metrics.getWorstPartition(), Math::max);
+            maxRecursionDepth.accumulateAndGet(metrics.getMaxRecursionDepth(), Math::max);
+            pivotFallbacks.add(metrics.getPivotFallbacks());
+
+            double seconds = metrics.getExecutionTimeMs() / 1000.0;
+            latencySecondsSum.add(seconds);
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                if (seconds <= LATENCY_BUCKETS[i]) {
+                    latencyBuckets[i].increment();
+                    break;
+                }
+            }
+        }
+
+        AlgorithmSnapshot snapshot() {
+            long calls = partitionCalls.sum();
+            long[] buckets = new long[latencyBuckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = latencyBuckets[i].sum();
+            }
+            return new AlgorithmSnapshot(algorithm, runs.sum(), elements.sum(), comparisons.sum(),
+                    arrayAccesses.sum(), swaps.sum(), calls,
+                    calls > 0 ? partitionBalanceSum.sum() / calls : 0.0,
+                    worstPartition.get(), maxRecursionDepth.get(), pivotFallbacks.sum(),
+                    latencySecondsSum.sum(), buckets);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package org.jokeoa;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join closest-pair search built on the {@link ClosestPairWorkspace} recursion:
+ * <ol>
+ *   <li>the x presort is a parallel merge sort of point indices; its leaves also fill the
+ *       identity order and copy the coordinates,</li>
+ *   <li>above {@value #SEQUENTIAL_THRESHOLD} points the two halves are searched as separate tasks,
+ *       each owning the matching slice of the index and scratch arrays, so no locking is needed,</li>
+ *   <li>each level merges its halves by y with a parallel merge and gathers its strip, the points
+ *       within the better of the two halves' distances of the split line, with a parallel
+ *       count, prefix sum and scatter,</li>
+ *   <li>only the pair scan over the gathered strip runs sequentially.</li>
+ * </ol>
+ * Sorting, merging and gathering have polylogarithmic span, apart from an O(n / 8192) prefix
+ * sum per level. The pair scans add time proportional to the strip size on every level. For
+ * uniformly spread points the strips hold only a few points, so the Θ(n log n) work spreads over
+ * all workers. When most points crowd one vertical line the strips stay Θ(n), and the span
+ * degrades to Θ(n).
+ * Below the threshold the sequential workspace code runs unchanged.
+ */
+public class ParallelClosestPair {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int MERGE_THRESHOLD = 1 << 13;
+
+    /**
+     * Finds the closest pair on the common pool
+     */
+    public static PointPair findClosestPair(Point2D[] points) {
+        return findClosestPair(points, ForkJoinPool.commonPool());
+    }
+
+    public static PointPair findClosestPair(Point2D[] points, ForkJoinPool pool) {
+        if (points == null || points.length < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        int n = points.length;
+        Search search = new Search(points, new double[n], new double[n]);
+        ClosestPairWorkspace.Best best = search.run(pool);
+        return new PointPair(points[best.first], points[best.second], Math.sqrt(best.distanceSquared));
+    }
+
+    public static PointPair findClosestPair(PointSet points, ForkJoinPool pool) {
+        if (points == null || points.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        Search search = new Search(null, points.xs(), points.ys());
+        ClosestPairWorkspace.Best best = search.run(pool);
+        return new PointPair(points.get(best.first), points.get(best.second), Math.sqrt(best.distanceSquared));
+    }
+
+    /**
+     * Arrays shared by all tasks of one call; every task touches only its own index range
+     */
+    private static final class Search {
+        private final Point2D[] objects;
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] order;
+        private final int[] buffer;
+
+        /**
+         * @param objects points to copy into xs and ys while sorting, or null if they are already filled
+         */
+        Search(Point2D[] objects, double[] xs, double[] ys) {
+            this.objects = objects;
+            this.xs = xs;
+            this.ys = ys;
+            this.order = new int[xs.length];
+            this.buffer = new int[xs.length];
+        }
+
+        ClosestPairWorkspace.Best run(ForkJoinPool pool) {
+            int last = xs.length - 1;
+            pool.invoke(new SortTask(0, last));
+            SearchTask root = new SearchTask(0, last);
+            pool.invoke(root);
+            return root.best;
+        }
+
+        /**
+         * Merges the sorted ranges order[lo..mid] and order[mid+1..hi] by key, forking above the merge threshold
+         */
+        void merge(double[] keys, int lo, int mid, int hi) {
+            if (hi - lo < MERGE_THRESHOLD) {
+                ClosestPairWorkspace.merge(keys, order, buffer, lo, mid, hi);
+                return;
+            }
+            new MergeTask(keys, lo, mid, mid + 1, hi, lo).invoke();
+            new CopyTask(lo, hi).invoke();
+        }
+
+        /**
+         * Gathers the points of order[lo..hi] closer than the limit to x = midX into buffer from lo,
+         * keeping their y order: chunks count their points in parallel, a prefix sum over the
+         * counts gives every chunk its output offset, and the chunks scatter in parallel
+         * @return the end (exclusive) of the strip in buffer
+         */
+        int filterStrip(int lo, int hi, double midX, double limitSquared) {
+            if (hi - lo < MERGE_THRESHOLD) {
+                return ClosestPairWorkspace.filterStrip(xs, order, buffer, lo, hi, lo, midX, limitSquared);
+            }
+            int chunks = (hi - lo) / MERGE_THRESHOLD + 1;
+            int[] offsets = new int[chunks];
+            new StripTask(lo, hi, midX, limitSquared, offsets, 0, chunks - 1, false).invoke();
+
+            int total = 0;
+            for (int c = 0; c < chunks; c++) {
+                int count = offsets[c];
+                offsets[c] = total;
+                total += count;
+            }
+            new StripTask(lo, hi, midX, limitSquared, offsets, 0, chunks - 1, true).invoke();
+            return lo + total;
+        }
+
+        /**
+         * Parallel stable merge sort of order[lo..hi] by x
+         */
+        private final class SortTask extends RecursiveAction {
+            private final int lo;
+            private final int hi;
+
+            SortTask(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected void compute() {
+                if (hi - lo < SEQUENTIAL_THRESHOLD) {
+                    for (int i = lo; i <= hi; i++) {
+                        order[i] = i;
+                        if (objects != null) {
+                            xs[i] = objects[i].x;
+                            ys[i] = objects[i].y;
+                        }
+                    }
+                    ClosestPairWorkspace.sortByX(xs, order, buffer, lo, hi);
+                    return;
+                }
+                int mid = (lo + hi) >>> 1;
+                ForkJoinTask.invokeAll(new SortTask(lo, mid), new SortTask(mid + 1, hi));
+                merge(xs, lo, mid, hi);
+            }
+        }
+
+        /**
+         * Closest pair among order[lo..hi], sorted by x on entry and by y on exit
+         */
+        private final class SearchTask extends RecursiveAction {
+            private final int lo;
+            private final int hi;
+            final ClosestPairWorkspace.Best best = new ClosestPairWorkspace.Best();
+
+            SearchTask(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected void compute() {
+                if (hi - lo < SEQUENTIAL_THRESHOLD) {
+                    ClosestPairWorkspace.search(xs, ys, order, buffer, lo, hi, best);
+                    return;
+                }
+                int mid = (lo + hi) >>> 1;
+                double midX = xs[order[mid]];
+                SearchTask left = new SearchTask(lo, mid);
+                SearchTask right = new SearchTask(mid + 1, hi);
+                ForkJoinTask.invokeAll(left, right);
+
+                best.offer(left.best);
+                best.offer(right.best);
+                merge(ys, lo, mid, hi);
+                int stripEnd = filterStrip(lo, hi, midX, best.distanceSquared);
+                ClosestPairWorkspace.scanPairs(xs, ys, buffer, lo, stripEnd, best);
+            }
+        }
+
+        /**
+         * Merges order[aLo..aHi] and order[bLo..bHi] into buffer starting at out, by splitting the
+         * larger run at its middle and the other run at the same key
+         */
+        private final class MergeTask extends RecursiveAction {
+            private final double[] keys;
+            private final int aLo;
+            private final int aHi;
+            private final int bLo;
+            private final int bHi;
+            private final int out;
+
+            MergeTask(double[] keys, int aLo, int aHi, int bLo, int bHi, int out) {
+                this.keys = keys;
+                this.aLo = aLo;
+                this.aHi = aHi;
+                this.bLo = bLo;
+                this.bHi = bHi;
+                this.out = out;
+            }
+
+            @Override
+            protected void compute() {
+                int aSize = aHi - aLo + 1;
+                int bSize = bHi - bLo + 1;
+                if (aSize + bSize <= MERGE_THRESHOLD) {
+                    mergeSequential();
+                    return;
+                }
+
+                MergeTask low;
+                MergeTask high;
+                if (aSize >= bSize) {
+                    // b elements equal to the split key stay after it, as in the sequential merge
+                    int aMid = (aLo + aHi) >>> 1;
+                    int bSplit = lowerBound(keys[order[aMid]], bLo, bHi);
+                    int position = out + (aMid - aLo) + (bSplit - bLo);
+                    buffer[position] = order[aMid];
+                    low = new MergeTask(keys, aLo, aMid - 1, bLo, bSplit - 1, out);
+                    high = new MergeTask(keys, aMid + 1, aHi, bSplit, bHi, position + 1);
+                } else {
+                    int bMid = (bLo + bHi) >>> 1;
+                    int aSplit = upperBound(keys[order[bMid]], aLo, aHi);
+                    int position = out + (aSplit - aLo) + (bMid - bLo);
+                    buffer[position] = order[bMid];
+                    low = new MergeTask(keys, aLo, aSplit - 1, bLo, bMid - 1, out);
+                    high = new MergeTask(keys, aSplit, aHi, bMid + 1, bHi, position + 1);
+                }
+                ForkJoinTask.invokeAll(low, high);
+            }
+
+            private void mergeSequential() {
+                int i = aLo;
+                int j = bLo;
+                int k = out;
+                while (i <= aHi && j <= bHi) {
+                    buffer[k++] = Double.compare(keys[order[j]], keys[order[i]]) < 0 ? order[j++] : order[i++];
+                }
+                while (i <= aHi) {
+                    buffer[k++] = order[i++];
+                }
+                while (j <= bHi) {
+                    buffer[k++] = order[j++];
+                }
+            }
+
+            /**
+             * First index in [from, to] whose key is not less than key, or to + 1
+             */
+            private int lowerBound(double key, int from, int to) {
+                int end = to + 1;
+                while (from < end) {
+                    int mid = (from + end) >>> 1;
+                    if (Double.compare(keys[order[mid]], key) < 0) {
+                        from = mid + 1;
+                    } else {
+                        end = mid;
+                    }
+                }
+                return from;
+            }
+
+            /**
+             * First index in [from, to] whose key is greater than key, or to + 1
+             */
+            private int upperBound(double key, int from, int to) {
+                int end = to + 1;
+                while (from < end) {
+                    int mid = (from + end) >>> 1;
+                    if (Double.compare(keys[order[mid]], key) <= 0) {
+                        from = mid + 1;
+                    } else {
+                        end = mid;
+                    }
+                }
+                return from;
+            }
+        }
+
+        /**
+         * One pass of the strip gather over chunks firstChunk..lastChunk of order[lo..hi]:
+         * either stores each chunk's strip count in offsets, or writes the chunk's strip points
+         * into buffer at lo plus its offset
+         */
+        private final class StripTask extends RecursiveAction {
+            private final int lo;
+            private final int hi;
+            private final double midX;
+            private final double limitSquared;
+            private final int[] offsets;
+            private final int firstChunk;
+            private final int lastChunk;
+            private final boolean scatter;
+
+            StripTask(int lo, int hi, double midX, double limitSquared, int[] offsets,
+                      int firstChunk, int lastChunk, boolean scatter) {
+                this.lo = lo;
+                this.hi = hi;
+                this.midX = midX;
+                this.limitSquared = limitSquared;
+                this.offsets = offsets;
+                this.firstChunk = firstChunk;
+                this.lastChunk = lastChunk;
+                this.scatter = scatter;
+            }
+
+            @Override
+            protected void compute() {
+                if (firstChunk < lastChunk) {
+                    int middle = (firstChunk + lastChunk) >>> 1;
+                    ForkJoinTask.invokeAll(
+                            new StripTask(lo, hi, midX, limitSquared, offsets, firstChunk, middle, scatter),
+                            new StripTask(lo, hi, midX, limitSquared, offsets, middle + 1, lastChunk, scatter));
+                    return;
+                }
+
+                int from = lo + firstChunk * MERGE_THRESHOLD;
+                int to = Math.min(hi, from + MERGE_THRESHOLD - 1);
+                if (scatter) {
+                    ClosestPairWorkspace.filterStrip(xs, order, buffer, from, to, lo + offsets[firstChunk],
+                            midX, limitSquared);
+                    return;
+                }
+                int count = 0;
+                for (int i = from; i <= to; i++) {
+                    double dx = xs[order[i]] - midX;
+                    if (dx * dx < limitSquared) {
+                        count++;
+                    }
+                }
+                offsets[firstChunk] = count;
+            }
+        }
+
+        /**
+         * Copies buffer[lo..hi] back into order
+         */
+        private final class CopyTask extends RecursiveAction {
+            private final int lo;
+            private final int hi;
+
+            CopyTask(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected void compute() {
+                if (hi - lo < MERGE_THRESHOLD) {
+                    System.arraycopy(buffer, lo, order, lo, hi - lo + 1);
+                    return;
+                }
+                int mid = (lo + hi) >>> 1;
+                ForkJoinTask.invokeAll(new CopyTask(lo, mid), new CopyTask(mid + 1, hi));
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.jokeoa;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fork/join selection for arrays too large for a single core.
+ * The array is split into one chunk per task (four per worker). Each round:
+ * <ol>
+ *   <li>two pivots bracketing the k-th element are taken from a sorted random sample of the active elements,</li>
+ *   <li>every chunk partitions its active segment in place into below / between / above concurrently,</li>
+ *   <li>the per-chunk counts are combined and each chunk's active segment narrows to the part holding k.</li>
+ * </ol>
+ * Once few elements remain they are gathered and finished with {@link FloydRivestSelect}.
+ * Chunk tasks, the sample and all counters are allocated once per call and reused every round.
+ */
+public class ParallelSelect {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 17;
+    private static final int MIN_CHUNK = 1 << 16;
+    private static final int TASKS_PER_WORKER = 4;
+    private static final int SAMPLE_SIZE = 4096;
+    private static final int SAMPLE_GAP = 96;
+
+    /**
+     * Selects the k-th smallest element (1-based) on the common pool; the input is not modified
+     */
+    public static int select(int[] array, int k) {
+        return select(array, k, ForkJoinPool.commonPool());
+    }
+
+    public static int select(int[] array, int k, ForkJoinPool pool) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return selectKth(array.clone(), k - 1, pool, null);
+    }
+
+    /**
+     * Same as {@link #select(int[], int, ForkJoinPool)} without the working copy; the array is reordered
+     */
+    public static int selectInPlace(int[] array, int k, ForkJoinPool pool) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return selectKth(array, k - 1, pool, null);
+    }
+
+    /**
+     * Records one partition per round (below vs. above the pivots) and the comparisons of all chunks
+     */
+    public static int selectWithMetrics(int[] array, int k, SortMetrics metrics) {
+        if (array == null || array.length == 0 || k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int result = selectKth(array.clone(), k - 1, ForkJoinPool.commonPool(), metrics);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    private static int selectKth(int[] array, int rank, ForkJoinPool pool, SortMetrics metrics) {
+        if (array.length < SEQUENTIAL_THRESHOLD) {
+            return FloydRivestSelect.selectInPlace(new SortContext(array, metrics), rank + 1);
+        }
+
+        int chunkCount = (int) Math.max(1, Math.min((long) pool.getParallelism() * TASKS_PER_WORKER,
+                array.length / MIN_CHUNK));
+        ChunkTask[] chunks = new ChunkTask[chunkCount];
+        long chunkSize = (array.length + (long) chunkCount - 1) / chunkCount;
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c] = new ChunkTask(array, (int) (c * chunkSize), (int) Math.min(array.length, (c + 1) * chunkSize));
+        }
+        RoundTask round = new RoundTask(chunks);
+        int[] sample = new int[SAMPLE_SIZE];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long k = rank;
+        long active = array.length;
+        boolean singlePivot = false;
+        while (active > SEQUENTIAL_THRESHOLD) {
+            // sample uniformly from the union of the active segments
+            for (int s = 0; s < SAMPLE_SIZE; s++) {
+                long position = random.nextLong(active);
+                int c = 0;
+                while (position >= chunks[c].to - chunks[c].from) {
+                    position -= chunks[c].to - chunks[c].from;
+                    c++;
+                }
+                sample[s] = array[chunks[c].from + (int) position];
+            }
+            Arrays.sort(sample);
+
+            int expected = (int) (k * SAMPLE_SIZE / active);
+            // a single pivot always splits off its strict sides; used after a round without progress
+            int low = sample[singlePivot ? expected : Math.max(0, expected - SAMPLE_GAP)];
+            int high = sample[singlePivot ? expected : Math.min(SAMPLE_SIZE - 1, expected + SAMPLE_GAP)];
+            boolean lowFirst = k >= active - k;
+
+            for (ChunkTask chunk : chunks) {
+                chunk.prepare(low, high, lowFirst);
+            }
+            round.reinitialize();
+            pool.invoke(round);
+
+            long less = 0;
+            long middle = 0;
+            for (ChunkTask chunk : chunks) {
+                less += chunk.lessEnd - chunk.from;
+                middle += chunk.greaterStart - chunk.lessEnd;
+                if (metrics != null) {
+                    metrics.recordComparisons((int) Math.min(Integer.MAX_VALUE, chunk.comparisons));
+                }
+            }
+            if (metrics != null) {
+                metrics.recordPartition((int) Math.min(Integer.MAX_VALUE, less),
+                        (int) Math.min(Integer.MAX_VALUE, active - less - middle));
+            }
+
+            singlePivot = middle == active;
+
+            if (k < less) {
+                for (ChunkTask chunk : chunks) {
+                    chunk.to = chunk.lessEnd;
+                }
+                active = less;
+            } else if (k < less + middle) {
+                if (low == high) {
+                    return low;
+                }
+                for (ChunkTask chunk : chunks) {
+                    chunk.from = chunk.lessEnd;
+                    chunk.to = chunk.greaterStart;
+                }
+                k -= less;
+                active = middle;
+            } else {
+                for (ChunkTask chunk : chunks) {
+                    chunk.from = chunk.greaterStart;
+                }
+                k -= less + middle;
+                active -= less + middle;
+            }
+        }
+
+        int[] candidates = new int[(int) active];
+        int size = 0;
+        for (ChunkTask chunk : chunks) {
+            System.arraycopy(array, chunk.from, candidates, size, chunk.to - chunk.from);
+            size += chunk.to - chunk.from;
+        }
+        return FloydRivestSelect.selectInPlace(new SortContext(candidates, metrics), (int) k + 1);
+    }
+
+    /**
+     * Runs every chunk of one round
+     */
+    private static final class RoundTask extends RecursiveAction {
+        private final ChunkTask[] chunks;
+
+        RoundTask(ChunkTask[] chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            for (ChunkTask chunk : chunks) {
+                chunk.reinitialize();
+            }
+            ForkJoinTask.invokeAll(chunks);
+        }
+    }
+
+    /**
+     * One fixed slice of the array; [from, to) is the part still holding candidates
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private final int[] array;
+        int from;
+        int to;
+
+        private int low;
+        private int high;
+        private boolean lowFirst;
+
+        int lessEnd;
+        int greaterStart;
+        long comparisons;
+
+        ChunkTask(int[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        void prepare(int low, int high, boolean lowFirst) {
+            this.low = low;
+            this.high = high;
+            this.lowFirst = lowFirst;
+        }
+
+        /**
+         * Three-way split of [from, to) into below low, between the pivots, and above high,
+         * testing first against the pivot on the side most elements fall on
+         */
+        @Override
+        protected void compute() {
+            int[] a = array;
+            int lt = from;
+            int gt = to - 1;
+            int i = from;
+            long count = 0;
+
+            while (i <= gt) {
+                int value = a[i];
+                count++;
+                if (lowFirst) {
+                    if (value < low) {
+                        a[i++] = a[lt];
+                        a[lt++] = value;
+                        continue;
+                    }
+                    count++;
+                    if (value > high) {
+                        a[i] = a[gt];
+                        a[gt--] = value;
+                    } else {
+                        i++;
+                    }
+                } else {
+                    if (value > high) {
+                        a[i] = a[gt];
+                        a[gt--] = value;
+                        continue;
+                    }
+                    count++;
+                    if (value < low) {
+                        a[i++] = a[lt];
+                        a[lt++] = value;
+                    } else {
+                        i++;
+                    }
+                }
+            }
+
+            lessEnd = lt;
+            greaterStart = gt + 1;
+            comparisons = count;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package org.jokeoa;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Partial sorting and top-k queries in O(n + k log k).
+ * A selection pass moves the k smallest (or largest) elements to the front with the k-th in place,
+ * then only that prefix is sorted.
+ * <p>
+ * int arrays use DeterministicSelect (worst-case linear) and sort the prefix with a three-way
+ * quicksort in the context's comparator order.
+ * long and double arrays use a three-way quickselect with a random median-of-3 pivot
+ * (expected linear) followed by the same partitioning as a prefix quicksort.
+ * Three-way partitioning keeps duplicate-heavy prefixes at O(k log k).
+ */
+public class PartialSort {
+    private static final int INSERTION_CUTOFF = 16;
+
+    /**
+     * Rearranges the array so that its first k elements are the k smallest, in ascending order.
+     * The order of the remaining elements is unspecified.
+     */
+    public static void partialSort(int[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        partialSort(new SortContext(array), k);
+    }
+
+    /**
+     * Same as {@link #partialSort(int[], int)} and returns the collected metrics
+     */
+    public static SortMetrics partialSortWithMetrics(int[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        partialSort(new SortContext(array, metrics), k);
+
+        metrics.endTiming();
+        return metrics;
+    }
+
+    /**
+     * Partially sorts the context's array in its comparator's order.
+     * Metrics are neither reset nor timed here.
+     */
+    public static void partialSort(SortContext context, int k) {
+        int[] array = context.getArray();
+        checkArguments(array.length, k);
+        if (k == 0) {
+            return;
+        }
+
+        if (k < array.length) {
+            // the k-th element is in its final place, only the prefix before it needs sorting
+            DeterministicSelect.selectInPlace(context, k);
+            sort(context, 0, k - 2);
+        } else {
+            sort(context, 0, k - 1);
+        }
+    }
+
+    /**
+     * @return the k smallest elements in ascending order; the input is not modified
+     */
+    public static int[] smallest(int[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        int[] work = array.clone();
+        partialSort(new SortContext(work), k);
+        return Arrays.copyOf(work, k);
+    }
+
+    /**
+     * @return the k largest elements in descending order; the input is not modified
+     */
+    public static int[] largest(int[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        int[] work = array.clone();
+        partialSort(new SortContext(work, null, 7, (a, b) -> Integer.compare(b, a)), k);
+        return Arrays.copyOf(work, k);
+    }
+
+    public static void partialSort(long[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        partialSort(array, k, false, null);
+    }
+
+    public static SortMetrics partialSortWithMetrics(long[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        partialSort(array, k, false, metrics);
+
+        metrics.endTiming();
+        return metrics;
+    }
+
+    public static long[] smallest(long[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        long[] work = array.clone();
+        partialSort(work, k, false, null);
+        return Arrays.copyOf(work, k);
+    }
+
+    public static long[] largest(long[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        long[] work = array.clone();
+        partialSort(work, k, true, null);
+        return Arrays.copyOf(work, k);
+    }
+
+    /**
+     * Orders doubles like Arrays.sort: -0.0 before 0.0 and NaN last
+     */
+    public static void partialSort(double[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        partialSort(array, k, false, null);
+    }
+
+    public static SortMetrics partialSortWithMetrics(double[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        partialSort(array, k, false, metrics);
+
+        metrics.endTiming();
+        return metrics;
+    }
+
+    public static double[] smallest(double[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        double[] work = array.clone();
+        partialSort(work, k, false, null);
+        return Arrays.copyOf(work, k);
+    }
+
+    public static double[] largest(double[] array, int k) {
+        checkArguments(array == null ? -1 : array.length, k);
+        double[] work = array.clone();
+        partialSort(work, k, true, null);
+        return Arrays.copyOf(work, k);
+    }
+
+    private static void checkArguments(int length, int k) {
+        if (length < 0 || k < 0 || k > length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+    }
+
+    // ---- int ----
+
+    private static void sort(SortContext context, int left, int right) {
+        context.enterRecursion();
+        while (right - left >= INSERTION_CUTOFF) {
+            long bounds = partition(context, left, right);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            if (lt - left < right - gt) {
+                sort(context, left, lt - 1);
+                left = gt + 1;
+            } else {
+                sort(context, gt + 1, right);
+                right = lt - 1;
+            }
+        }
+        InsertionSort.sort(context, left, right);
+        context.exitRecursion();
+    }
+
+    /**
+     * Dijkstra three-way partition around a random median-of-3 pivot, in the context's order
+     * @return the range of elements equal to the pivot, packed as (first << 32) | last
+     */
+    private static long partition(SortContext context, int left, int right) {
+        int[] array = context.getArray();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = array[random.nextInt(left, right + 1)];
+        int b = array[random.nextInt(left, right + 1)];
+        int c = array[random.nextInt(left, right + 1)];
+        context.recordComparison();
+        context.recordComparison();
+        context.recordComparison();
+        if (context.compare(a, b) > 0) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        int pivot = context.compare(b, c) <= 0 ? b : (context.compare(a, c) >= 0 ? a : c);
+
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            context.recordArrayAccess();
+            context.recordComparison();
+            int cmp = context.compare(array[i], pivot);
+            if (cmp < 0) {
+                swap(context, lt++, i++);
+            } else if (cmp > 0) {
+                swap(context, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        context.recordPartition(lt - left, right - gt);
+        return ((long) lt << 32) | (gt & 0xffffffffL);
+    }
+
+    private static void swap(SortContext context, int i, int j) {
+        int[] array = context.getArray();
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        context.recordSwap();
+    }
+
+    // ---- long ----
+
+    private static void partialSort(long[] array, int k, boolean descending, SortMetrics metrics) {
+        if (k == 0) {
+            return;
+        }
+        int[] bounds = new int[2];
+        if (k < array.length) {
+            select(array, 0, array.length - 1, k - 1, descending, bounds, metrics);
+            sort(array, 0, k - 2, descending, bounds, metrics);
+        } else {
+            sort(array, 0, k - 1, descending, bounds, metrics);
+        }
+    }
+
+    private static void select(long[] array, int left, int right, int k, boolean descending,
+                               int[] bounds, SortMetrics metrics) {
+        enter(metrics);
+        while (right - left >= INSERTION_CUTOFF) {
+            partition(array, left, right, descending, bounds, metrics);
+            if (k < bounds[0]) {
+                right = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                left = bounds[1] + 1;
+            } else {
+                exit(metrics);
+                return;
+            }
+        }
+        insertionSort(array, left, right, descending, metrics);
+        exit(metrics);
+    }
+
+    private static void sort(long[] array, int left, int right, boolean descending,
+                             int[] bounds, SortMetrics metrics) {
+        enter(metrics);
+        while (right - left >= INSERTION_CUTOFF) {
+            partition(array, left, right, descending, bounds, metrics);
+            int lt = bounds[0];
+            int gt = bounds[1];
+            if (lt - left < right - gt) {
+                sort(array, left, lt - 1, descending, bounds, metrics);
+                left = gt + 1;
+            } else {
+                sort(array, gt + 1, right, descending, bounds, metrics);
+                right = lt - 1;
+            }
+        }
+        insertionSort(array, left, right, descending, metrics);
+        exit(metrics);
+    }
+
+    /**
+     * Dijkstra three-way partition around a random median-of-3 pivot.
+     * Leaves [bounds[0], bounds[1]] holding the elements equal to the pivot.
+     */
+    private static void partition(long[] array, int left, int right, boolean descending,
+                                  int[] bounds, SortMetrics metrics) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long a = array[random.nextInt(left, right + 1)];
+        long b = array[random.nextInt(left, right + 1)];
+        long c = array[random.nextInt(left, right + 1)];
+        comparisons(metrics, 3);
+        long pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            long value = array[i];
+            int cmp = descending ? Long.compare(pivot, value) : Long.compare(value, pivot);
+            comparisons(metrics, 1);
+            if (cmp < 0) {
+                swap(array, lt++, i++, metrics);
+            } else if (cmp > 0) {
+                swap(array, i, gt--, metrics);
+            } else {
+                i++;
+            }
+        }
+        partitioned(metrics, lt - left, right - gt);
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    private static void insertionSort(long[] array, int left, int right, boolean descending, SortMetrics metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            long key = array[i];
+            int j = i - 1;
+            while (j >= left) {
+                comparisons(metrics, 1);
+                if (descending ? array[j] >= key : array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private static void swap(long[] array, int i, int j, SortMetrics metrics) {
+        long temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        if (metrics != null) {
+            metrics.recordSwap();
+        }
+    }
+
+    // ---- double ----
+
+    private static void partialSort(double[] array, int k, boolean descending, SortMetrics metrics) {
+        if (k == 0) {
+            return;
+        }
+        int[] bounds = new int[2];
+        if (k < array.length) {
+            select(array, 0, array.length - 1, k - 1, descending, bounds, metrics);
+            sort(array, 0, k - 2, descending, bounds, metrics);
+        } else {
+            sort(array, 0, k - 1, descending, bounds, metrics);
+        }
+    }
+
+    private static void select(double[] array, int left, int right, int k, boolean descending,
+                               int[] bounds, SortMetrics metrics) {
+        enter(metrics);
+        while (right - left >= INSERTION_CUTOFF) {
+            partition(array, left, right, descending, bounds, metrics);
+            if (k < bounds[0]) {
+                right = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                left = bounds[1] + 1;
+            } else {
+                exit(metrics);
+                return;
+            }
+        }
+        insertionSort(array, left, right, descending, metrics);
+        exit(metrics);
+    }
+
+    private static void sort(double[] array, int left, int right, boolean descending,
+                             int[] bounds, SortMetrics metrics) {
+        enter(metrics);
+        while (right - left >= INSERTION_CUTOFF) {
+            partition(array, left, right, descending, bounds, metrics);
+            int lt = bounds[0];
+            int gt = bounds[1];
+            if (lt - left < right - gt) {
+                sort(array, left, lt - 1, descending, bounds, metrics);
+                left = gt + 1;
+            } else {
+                sort(array, gt + 1, right, descending, bounds, metrics);
+                right = lt - 1;
+            }
+        }
+        insertionSort(array, left, right, descending, metrics);
+        exit(metrics);
+    }
+
+    private static void partition(double[] array, int left, int right, boolean descending,
+                                  int[] bounds, SortMetrics metrics) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double a = array[random.nextInt(left, right + 1)];
+        double b = array[random.nextInt(left, right + 1)];
+        double c = array[random.nextInt(left, right + 1)];
+        comparisons(metrics, 3);
+        double pivot;
+        if (Double.compare(a, b) > 0) {
+            double temp = a;
+            a = b;
+            b = temp;
+        }
+        pivot = Double.compare(b, c) <= 0 ? b : (Double.compare(a, c) >= 0 ? a : c);
+
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            double value = array[i];
+            int cmp = descending ? Double.compare(pivot, value) : Double.compare(value, pivot);
+            comparisons(metrics, 1);
+            if (cmp < 0) {
+                swap(array, lt++, i++, metrics);
+            } else if (cmp > 0) {
+                swap(array, i, gt--, metrics);
+            } else {
+                i++;
+            }
+        }
+        partitioned(metrics, lt - left, right - gt);
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    private static void insertionSort(double[] array, int left, int right, boolean descending, SortMetrics metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            double key = array[i];
+            int j = i - 1;
+            while (j >= left) {
+                comparisons(metrics, 1);
+                int cmp = Double.compare(array[j], key);
+                if (descending ? cmp >= 0 : cmp <= 0) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private static void swap(double[] array, int i, int j, SortMetrics metrics) {
+        double temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        if (metrics != null) {
+            metrics.recordSwap();
+        }
+    }
+
+    // ---- metrics ----
+
+    private static void comparisons(SortMetrics metrics, int count) {
+        if (metrics != null) {
+            for (int i = 0; i < count; i++) {
+                metrics.recordComparison();
+            }
+        }
+    }
+
+    private static void partitioned(SortMetrics metrics, int leftSize, int rightSize) {
+        if (metrics != null) {
+            metrics.recordPartition(leftSize, rightSize);
+        }
+    }
+
+    private static void enter(SortMetrics metrics) {
+        if (metrics != null) {
+            metrics.enterRecursion();
+        }
+    }
+
+    private static void exit(SortMetrics metrics) {
+        if (metrics != null) {
+            metrics.exitRecursion();
+        }
+    }
+}
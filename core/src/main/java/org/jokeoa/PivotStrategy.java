@@ -0,0 +1,15 @@
+package org.jokeoa;
+
+/**
+ * How QuickSort picks the pivot of a subarray
+ */
+public enum PivotStrategy {
+    /** Leftmost element */
+    FIRST,
+    /** Element in the middle of the subarray */
+    MIDDLE,
+    /** Median of the first, middle and last elements */
+    MEDIAN_OF_THREE,
+    /** Uniformly random element (the default) */
+    RANDOM
+}
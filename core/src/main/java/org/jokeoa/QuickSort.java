@@ -0,0 +1,189 @@
+package org.jokeoa;
+
+import java.util.Random;
+
+public class QuickSort {
+    private static Random random = new Random();
+
+    /**
+     * Partition array around a pivot chosen by the given strategy
+     * @param left left boundary (inclusive)
+     * @param right right boundary (inclusive)
+     * @return pivot index after partitioning
+     */
+    private static int partition(SortContext context, int left, int right, PivotStrategy strategy) {
+        int[] array = context.getArray();
+
+        int pivotChoice = choosePivot(context, left, right, strategy);
+        swap(context, array, pivotChoice, right);
+
+        int pivot = array[right];
+        context.recordArrayAccess();
+
+
+        int i = left - 1;
+
+        for (int j = left; j < right; j++) {
+            context.recordArrayAccess();
+            context.recordComparison();
+            if (context.compare(array[j], pivot) <= 0) {
+                i++;
+                swap(context, array, i, j);
+            }
+        }
+        swap(context, array, i + 1, right);
+
+        int pivotIndex = i + 1;
+        int leftSize = pivotIndex - left;
+        int rightSize = right - pivotIndex;
+        context.recordPartition(leftSize, rightSize);
+
+        return pivotIndex;
+    }
+
+    /**
+     * @return index of the pivot element within [left, right]
+     */
+    private static int choosePivot(SortContext context, int left, int right, PivotStrategy strategy) {
+        switch (strategy) {
+            case FIRST:
+                return left;
+            case MIDDLE:
+                return left + (right - left) / 2;
+            case MEDIAN_OF_THREE:
+                return medianOfThree(context, left, left + (right - left) / 2, right);
+            default:
+                return left + random.nextInt(right - left + 1);
+        }
+    }
+
+    private static int medianOfThree(SortContext context, int a, int b, int c) {
+        int[] array = context.getArray();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+
+        context.recordComparison();
+        if (context.compare(array[a], array[b]) < 0) {
+            context.recordComparison();
+            if (context.compare(array[b], array[c]) < 0) {
+                return b;
+            }
+            context.recordComparison();
+            return context.compare(array[a], array[c]) < 0 ? c : a;
+        }
+        context.recordComparison();
+        if (context.compare(array[a], array[c]) < 0) {
+            return a;
+        }
+        context.recordComparison();
+        return context.compare(array[b], array[c]) < 0 ? c : b;
+    }
+
+    /**
+     * Recursive sorting with "smaller first" optimization
+     * @param left left boundary
+     * @param right right boundary
+     */
+    private static void quickSort(SortContext context, int left, int right, PivotStrategy strategy) {
+        context.enterRecursion();
+        while (left < right) {
+            context.recordArrayAccess();
+
+            if (context.shouldUseCutoff(left, right)) {
+                InsertionSort.sort(context, left, right);
+                break;
+            }
+
+            int pivotIndex = partition(context, left, right, strategy);
+
+
+            int leftSize = pivotIndex - left;
+            int rightSize = right - pivotIndex;
+
+            if (leftSize < rightSize) {
+                quickSort(context, left, pivotIndex - 1, strategy);
+                left = pivotIndex + 1;
+            } else {
+
+                quickSort(context, pivotIndex + 1, right, strategy);
+                right = pivotIndex - 1;
+            }
+        }
+        context.exitRecursion();
+    }
+
+    /**
+     * Public sorting method
+     */
+    public static void sort(int[] array) {
+        sort(array, PivotStrategy.RANDOM);
+    }
+
+    /**
+     * Sorts the array with the given pivot strategy
+     */
+    public static void sort(int[] array, PivotStrategy strategy) {
+        if (array.length > 1) {
+            SortContext context = new SortContext(array);
+            quickSort(context, 0, array.length - 1, strategy);
+        }
+    }
+
+    /**
+     * Sorts the context's array using its comparator and metrics.
+     * Metrics are neither reset nor timed here.
+     */
+    public static void sort(SortContext context, PivotStrategy strategy) {
+        int[] array = context.getArray();
+        if (array.length > 1) {
+            quickSort(context, 0, array.length - 1, strategy);
+        }
+    }
+
+    /**
+     * Sorts the segment [left, right] of the context's array using its comparator and metrics.
+     * Metrics are neither reset nor timed here.
+     */
+    public static void sort(SortContext context, int left, int right, PivotStrategy strategy) {
+        if (left < right) {
+            quickSort(context, left, right, strategy);
+        }
+    }
+
+    /**
+     * Swap elements in array
+     */
+    private static void swap(SortContext context, int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+
+        context.recordSwap();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+        context.recordArrayAccess();
+    }
+
+    public static SortMetrics sortWithMetrics(int[] array) {
+        return sortWithMetrics(array, PivotStrategy.RANDOM);
+    }
+
+    /**
+     * Sorts the array with the given pivot strategy and returns the collected metrics
+     */
+    public static SortMetrics sortWithMetrics(int[] array, PivotStrategy strategy) {
+        SortMetrics metrics = new SortMetrics();
+        metrics.reset();
+        metrics.startTiming();
+
+        if (array.length > 1) {
+            SortContext context = new SortContext(array, metrics);
+            quickSort(context, 0, array.length - 1, strategy);
+        }
+
+        metrics.endTiming();
+        return metrics;
+    }
+}
@@ -0,0 +1,158 @@
+package org.jokeoa;
+
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Answers many k-th element queries against one static array. The index owns a single working
+ * copy and remembers every position whose element is already final: everything before it is
+ * smaller or equal and everything after it larger or equal. A query only partitions the gap
+ * between the nearest final positions around k, and every pivot it places becomes final too,
+ * so repeated queries get cheaper and the copy converges to a sorted array.
+ * <p>
+ * Not thread-safe: queries reorder the working copy.
+ */
+public class RankIndex {
+    private final int[] array;
+    private final BitSet fixed;
+    private final IntComparator comparator;
+
+    public RankIndex(int[] source) {
+        this(source, null);
+    }
+
+    /**
+     * @param comparator element order, or null for the natural int order
+     */
+    public RankIndex(int[] source, IntComparator comparator) {
+        if (source == null || source.length == 0) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        this.array = source.clone();
+        this.fixed = new BitSet(source.length);
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return the k-th smallest element (1-based)
+     */
+    public int select(int k) {
+        if (k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return selectPosition(new SortContext(array, null, 7, comparator), k - 1);
+    }
+
+    /**
+     * Records only the work of this query; an answer already known costs nothing
+     */
+    public int selectWithMetrics(int k, SortMetrics metrics) {
+        if (k < 1 || k > array.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int result = selectPosition(new SortContext(array, metrics, 7, comparator), k - 1);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * @return number of positions whose element is final
+     */
+    public int fixedCount() {
+        return fixed.cardinality();
+    }
+
+    public boolean isFullySorted() {
+        return fixed.nextClearBit(0) >= array.length;
+    }
+
+    private int selectPosition(SortContext context, int k) {
+        if (fixed.get(k)) {
+            return array[k];
+        }
+
+        int left = fixed.previousSetBit(k) + 1;
+        int right = fixed.nextSetBit(k);
+        right = right < 0 ? array.length - 1 : right - 1;
+
+        while (!context.shouldUseCutoff(left, right)) {
+            int pivot = array[sampledPivot(context, left, right)];
+            long equalRange = partitionThreeWay(context, left, right, pivot);
+            int lessEnd = (int) (equalRange >>> 32);
+            int greaterStart = (int) equalRange + 1;
+            fixed.set(lessEnd, greaterStart);
+
+            if (k < lessEnd) {
+                right = lessEnd - 1;
+            } else if (k >= greaterStart) {
+                left = greaterStart;
+            } else {
+                return array[k];
+            }
+        }
+
+        InsertionSort.sort(context, left, right);
+        fixed.set(left, right + 1);
+        return array[k];
+    }
+
+    /**
+     * Median of three random positions in [left, right]
+     */
+    private int sampledPivot(SortContext context, int left, int right) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(left, right + 1);
+        int b = random.nextInt(left, right + 1);
+        int c = random.nextInt(left, right + 1);
+        if (context.compare(array[a], array[b]) < 0) {
+            if (context.compare(array[b], array[c]) < 0) {
+                return b;
+            }
+            return context.compare(array[a], array[c]) < 0 ? c : a;
+        }
+        if (context.compare(array[a], array[c]) < 0) {
+            return a;
+        }
+        return context.compare(array[b], array[c]) < 0 ? c : b;
+    }
+
+    /**
+     * @return the range of elements equal to the pivot, packed as (first << 32) | last
+     */
+    private long partitionThreeWay(SortContext context, int left, int right, int pivot) {
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            context.recordArrayAccess();
+            context.recordComparison();
+            int cmp = context.compare(array[i], pivot);
+            if (cmp < 0) {
+                swap(context, lt++, i++);
+            } else if (cmp > 0) {
+                swap(context, i, gt--);
+            } else {
+                i++;
+            }
+        }
+
+        context.recordPartition(lt - left, right - gt);
+        return ((long) lt << 32) | gt;
+    }
+
+    private void swap(SortContext context, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        context.recordSwap();
+    }
+}
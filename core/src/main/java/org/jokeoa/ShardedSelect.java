@@ -0,0 +1,295 @@
+package org.jokeoa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Selection over data split across shards, treated as one logical multiset.
+ * The coordinator only ever sees a few numbers per shard and round:
+ * <ol>
+ *   <li>every shard proposes the median of its active elements,</li>
+ *   <li>the median of those proposals, weighted by active counts, becomes the pivot,</li>
+ *   <li>every shard counts its active elements below and equal to the pivot,</li>
+ *   <li>the summed counts tell which side holds rank k, and every shard keeps only that side.</li>
+ * </ol>
+ * The weighted median has at least a quarter of the active elements on each side, so every round
+ * discards a constant fraction and O(log n) rounds suffice. Calls to the shards of one round run
+ * concurrently on the given executor; a remote shard only has to implement {@link Shard}.
+ */
+public class ShardedSelect {
+
+    /**
+     * Which part of the last partition a shard keeps
+     */
+    public enum Side {
+        LESS,
+        GREATER
+    }
+
+    /**
+     * One partition of the data. Every selection starts with {@link #reset()}; the shard keeps
+     * its own set of active elements between calls.
+     */
+    public interface Shard {
+        /**
+         * Makes every element active again
+         */
+        void reset();
+
+        int activeCount();
+
+        /**
+         * Median of the active elements; only called while some are active
+         */
+        int localMedian();
+
+        /**
+         * Splits the active elements around the pivot
+         * @return the counts below and equal to the pivot, packed as (less << 32) | equal
+         */
+        long partition(int pivot);
+
+        /**
+         * Narrows the active elements to one side of the last partition
+         */
+        void retain(Side side);
+    }
+
+    /**
+     * In-process shard over an array that is reordered in place, never copied
+     */
+    public static final class LocalShard implements Shard {
+        private final SortContext context;
+        private int from;
+        private int to;
+        private int lessEnd;
+        private int greaterStart;
+
+        public LocalShard(int[] array) {
+            if (array == null) {
+                throw new IllegalArgumentException("Invalid input parameters");
+            }
+            this.context = new SortContext(array);
+            this.to = array.length;
+        }
+
+        @Override
+        public void reset() {
+            from = 0;
+            to = context.getArray().length;
+        }
+
+        @Override
+        public int activeCount() {
+            return to - from;
+        }
+
+        @Override
+        public int localMedian() {
+            int count = to - from;
+            return FloydRivestSelect.selectInPlace(context, from, to - 1, (count + 1) / 2);
+        }
+
+        @Override
+        public long partition(int pivot) {
+            int[] array = context.getArray();
+            int lt = from;
+            int gt = to - 1;
+            int i = from;
+
+            while (i <= gt) {
+                int value = array[i];
+                if (value < pivot) {
+                    array[i++] = array[lt];
+                    array[lt++] = value;
+                } else if (value > pivot) {
+                    array[i] = array[gt];
+                    array[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+
+            lessEnd = lt;
+            greaterStart = gt + 1;
+            return ((long) (lt - from) << 32) | (greaterStart - lt);
+        }
+
+        @Override
+        public void retain(Side side) {
+            if (side == Side.LESS) {
+                to = lessEnd;
+            } else {
+                from = greaterStart;
+            }
+        }
+    }
+
+    /**
+     * Selects the k-th smallest element (1-based) of the union of the arrays.
+     * The arrays are reordered in place.
+     */
+    public static int select(List<int[]> arrays, long k, ExecutorService executor) {
+        if (arrays == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        List<Shard> shards = new ArrayList<>(arrays.size());
+        for (int[] array : arrays) {
+            shards.add(new LocalShard(array));
+        }
+        return selectShards(shards, k, executor, null);
+    }
+
+    /**
+     * Records one partition per round (elements below vs. above the pivot across all shards)
+     */
+    public static int selectWithMetrics(List<int[]> arrays, long k, ExecutorService executor, SortMetrics metrics) {
+        if (arrays == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        List<Shard> shards = new ArrayList<>(arrays.size());
+        for (int[] array : arrays) {
+            shards.add(new LocalShard(array));
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int result = selectShards(shards, k, executor, metrics);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Coordinates a selection over arbitrary shards
+     * @param metrics collector for the rounds (not reset), or null
+     */
+    public static int selectShards(List<? extends Shard> shards, long k, ExecutorService executor,
+                                   SortMetrics metrics) {
+        if (shards == null || shards.isEmpty() || executor == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        callAll(shards, shard -> {
+            shard.reset();
+            return null;
+        }, executor);
+        long active = 0;
+        for (int count : callAll(shards, Shard::activeCount, executor)) {
+            active += count;
+        }
+        if (k < 1 || k > active) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        long rank = k - 1;
+        int m = shards.size();
+        int[] medians = new int[m];
+        long[] weights = new long[m];
+        while (true) {
+            List<Shard> live = new ArrayList<>(m);
+            List<Integer> counts = callAll(shards, Shard::activeCount, executor);
+            for (int s = 0; s < m; s++) {
+                if (counts.get(s) > 0) {
+                    weights[live.size()] = counts.get(s);
+                    live.add(shards.get(s));
+                }
+            }
+
+            List<Integer> proposals = callAll(live, Shard::localMedian, executor);
+            for (int s = 0; s < live.size(); s++) {
+                medians[s] = proposals.get(s);
+            }
+            int pivot = weightedMedian(medians, weights, live.size(), active);
+
+            long less = 0;
+            long equal = 0;
+            for (long counted : callAll(live, shard -> shard.partition(pivot), executor)) {
+                less += counted >>> 32;
+                equal += (int) counted;
+            }
+            if (metrics != null) {
+                metrics.recordPartition((int) Math.min(Integer.MAX_VALUE, less),
+                        (int) Math.min(Integer.MAX_VALUE, active - less - equal));
+            }
+
+            if (rank < less) {
+                callAll(live, shard -> {
+                    shard.retain(Side.LESS);
+                    return null;
+                }, executor);
+                active = less;
+            } else if (rank < less + equal) {
+                return pivot;
+            } else {
+                callAll(live, shard -> {
+                    shard.retain(Side.GREATER);
+                    return null;
+                }, executor);
+                rank -= less + equal;
+                active -= less + equal;
+            }
+        }
+    }
+
+    /**
+     * Smallest proposal whose cumulative weight reaches half the total
+     */
+    private static int weightedMedian(int[] medians, long[] weights, int count, long total) {
+        // insertion sort by proposal; there is one per shard
+        for (int i = 1; i < count; i++) {
+            int median = medians[i];
+            long weight = weights[i];
+            int j = i - 1;
+            while (j >= 0 && medians[j] > median) {
+                medians[j + 1] = medians[j];
+                weights[j + 1] = weights[j];
+                j--;
+            }
+            medians[j + 1] = median;
+            weights[j + 1] = weight;
+        }
+
+        long cumulative = 0;
+        for (int i = 0; i < count; i++) {
+            cumulative += weights[i];
+            if (2 * cumulative >= total) {
+                return medians[i];
+            }
+        }
+        return medians[count - 1];
+    }
+
+    /**
+     * Runs one call per shard concurrently and returns the answers in shard order
+     */
+    private static <T> List<T> callAll(List<? extends Shard> shards, Function<Shard, T> call,
+                                       ExecutorService executor) {
+        List<Callable<T>> tasks = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            tasks.add(() -> call.apply(shard));
+        }
+
+        try {
+            List<T> results = new ArrayList<>(shards.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Shard call failed", e.getCause());
+        }
+    }
+}
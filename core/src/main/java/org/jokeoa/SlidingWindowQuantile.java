@@ -0,0 +1,295 @@
+package org.jokeoa;
+
+import java.util.SplittableRandom;
+
+/**
+ * Order statistics over the last N values of a stream, e.g. the median or p99 latency of the
+ * last N samples, updated on every sample. Re-selecting the window costs O(N) per update; here
+ * every add, evict and query costs O(log N) expected.
+ * <p>
+ * The window is a ring of N slots, and the slots double as the nodes of a treap ordered by
+ * (value, slot), kept in primitive arrays: adding a value evicts the oldest slot from the tree
+ * and reinserts the same slot with the new value, so nothing is allocated or boxed after
+ * construction. Doubles are stored as their {@link ElementType#sortableKey} and follow
+ * Double.compare order.
+ * <p>
+ * Not thread-safe.
+ */
+public class SlidingWindowQuantile {
+    private static final int NIL = -1;
+
+    private final boolean doubles;
+    private final long[] keys;
+    private final int[] priority;
+    private final int[] left;
+    private final int[] right;
+    private final int[] size;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private int root = NIL;
+    private int head;
+    private int count;
+
+    private SlidingWindowQuantile(int window, boolean doubles) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        this.doubles = doubles;
+        this.keys = new long[window];
+        this.priority = new int[window];
+        this.left = new int[window];
+        this.right = new int[window];
+        this.size = new int[window];
+    }
+
+    /**
+     * Window over the last {@code window} long values
+     */
+    public static SlidingWindowQuantile ofLongs(int window) {
+        return new SlidingWindowQuantile(window, false);
+    }
+
+    /**
+     * Window over the last {@code window} double values
+     */
+    public static SlidingWindowQuantile ofDoubles(int window) {
+        return new SlidingWindowQuantile(window, true);
+    }
+
+    public void addLong(long value) {
+        requireMode(false);
+        addKey(value);
+    }
+
+    public void addDouble(double value) {
+        requireMode(true);
+        addKey(ElementType.sortableKey(value));
+    }
+
+    /**
+     * Advances the window by a batch. Values that would be evicted again within the same batch
+     * are never inserted, so a batch longer than the window costs O(N log N) regardless of its length.
+     */
+    public void addAll(long[] values, int offset, int length) {
+        requireMode(false);
+        checkRange(values == null ? -1 : values.length, offset, length);
+        int skip = skipped(length);
+        for (int i = offset + skip; i < offset + length; i++) {
+            addKey(values[i]);
+        }
+    }
+
+    public void addAll(double[] values, int offset, int length) {
+        requireMode(true);
+        checkRange(values == null ? -1 : values.length, offset, length);
+        int skip = skipped(length);
+        for (int i = offset + skip; i < offset + length; i++) {
+            addKey(ElementType.sortableKey(values[i]));
+        }
+    }
+
+    /**
+     * @return the k-th smallest (1-based) value of the window
+     */
+    public long select(int k) {
+        requireMode(false);
+        return selectKey(k);
+    }
+
+    public double selectDouble(int k) {
+        requireMode(true);
+        return ElementType.fromSortableKey(selectKey(k));
+    }
+
+    /**
+     * @param q quantile in [0, 1], nearest-rank definition
+     */
+    public long quantile(double q) {
+        requireMode(false);
+        return selectKey(quantileRank(q));
+    }
+
+    public double quantileDouble(double q) {
+        requireMode(true);
+        return ElementType.fromSortableKey(selectKey(quantileRank(q)));
+    }
+
+    /**
+     * Lower median
+     */
+    public long median() {
+        return select((count + 1) / 2);
+    }
+
+    public double medianDouble() {
+        return selectDouble((count + 1) / 2);
+    }
+
+    /**
+     * @return number of values currently in the window
+     */
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public void clear() {
+        root = NIL;
+        head = 0;
+        count = 0;
+    }
+
+    private void addKey(long key) {
+        int slot;
+        if (count == keys.length) {
+            slot = head;
+            root = remove(root, slot);
+            head = head + 1 == keys.length ? 0 : head + 1;
+        } else {
+            slot = head + count;
+            if (slot >= keys.length) {
+                slot -= keys.length;
+            }
+            count++;
+        }
+
+        keys[slot] = key;
+        priority[slot] = random.nextInt();
+        left[slot] = NIL;
+        right[slot] = NIL;
+        size[slot] = 1;
+        root = insert(root, slot);
+    }
+
+    /**
+     * Number of leading batch values that would be evicted before the batch ends
+     */
+    private int skipped(int length) {
+        if (length < keys.length) {
+            return 0;
+        }
+        clear();
+        return length - keys.length;
+    }
+
+    private long selectKey(int k) {
+        if (k < 1 || k > count) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        int node = root;
+        while (true) {
+            int leftSize = sizeOf(left[node]);
+            if (k <= leftSize) {
+                node = left[node];
+            } else if (k == leftSize + 1) {
+                return keys[node];
+            } else {
+                k -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    private int quantileRank(double q) {
+        if (!(q >= 0 && q <= 1) || count == 0) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return (int) Math.max(1, Math.ceil(q * count));
+    }
+
+    /**
+     * Tree order: by key, ties broken by slot so that every slot has a unique position
+     */
+    private boolean before(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private int insert(int node, int slot) {
+        if (node == NIL) {
+            return slot;
+        }
+        size[node]++;
+        if (before(slot, node)) {
+            left[node] = insert(left[node], slot);
+            if (priority[left[node]] > priority[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], slot);
+            if (priority[right[node]] > priority[node]) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private int remove(int node, int slot) {
+        if (node == slot) {
+            return join(left[node], right[node]);
+        }
+        size[node]--;
+        if (before(slot, node)) {
+            left[node] = remove(left[node], slot);
+        } else {
+            right[node] = remove(right[node], slot);
+        }
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of a comes before every node of b
+     */
+    private int join(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = join(right[a], b);
+            size[a] = 1 + sizeOf(left[a]) + sizeOf(right[a]);
+            return a;
+        }
+        left[b] = join(a, left[b]);
+        size[b] = 1 + sizeOf(left[b]) + sizeOf(right[b]);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        size[pivot] = size[node];
+        size[node] = 1 + sizeOf(left[node]) + sizeOf(right[node]);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        size[pivot] = size[node];
+        size[node] = 1 + sizeOf(left[node]) + sizeOf(right[node]);
+        return pivot;
+    }
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : size[node];
+    }
+
+    private void requireMode(boolean doubleValues) {
+        if (doubles != doubleValues) {
+            throw new IllegalStateException(doubles ? "Window holds double values" : "Window holds long values");
+        }
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (arrayLength < 0 || offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+    }
+}
@@ -2,21 +2,29 @@ package org.jokeoa;
 
 public class SortContext {
     private final int[] array;           // Original array to sort
-    private final int[] buffer;          // Reusable buffer (for MergeSort)
+    private int[] buffer;                // Reusable buffer (for MergeSort), allocated on first use
     private final SortMetrics metrics;   // Performance metrics
     private final int cutoffThreshold;   // Threshold for switching to insertion sort
+    private final IntComparator comparator; // Element order (null for natural order)
 
     /**
      * @param array array to sort
      * @param metrics metrics collection object (can be null)
      * @param cutoffThreshold threshold for switching to simple sort
+     * @param comparator element order, or null for the natural int order
      */
-    public SortContext(int[] array, SortMetrics metrics, int cutoffThreshold) {
+    public SortContext(int[] array, SortMetrics metrics, int cutoffThreshold, IntComparator comparator) {
         this.array = array;
         this.metrics = metrics;
         this.cutoffThreshold = cutoffThreshold;
+        this.comparator = comparator;
+    }
 
-        this.buffer = new int[(array.length + 1) / 2];
+    /**
+     * Constructor with natural int order
+     */
+    public SortContext(int[] array, SortMetrics metrics, int cutoffThreshold) {
+        this(array, metrics, cutoffThreshold, null);
     }
 
     /**
@@ -38,6 +46,9 @@ public class SortContext {
     }
 
     public int[] getBuffer() {
+        if (buffer == null) {
+            buffer = new int[(array.length + 1) / 2];
+        }
         return buffer;
     }
 
@@ -49,6 +60,18 @@ public class SortContext {
         return cutoffThreshold;
     }
 
+    public IntComparator getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Compares two elements with the context's comparator (natural order if none).
+     * Does not record a comparison; callers record it like any other metric.
+     */
+    public int compare(int a, int b) {
+        return comparator == null ? Integer.compare(a, b) : comparator.compare(a, b);
+    }
+
     /**
      * Records metric if metrics object exists
      */
@@ -76,6 +99,12 @@ public class SortContext {
         }
     }
 
+    public void recordPivotFallback() {
+        if (metrics != null) {
+            metrics.recordPivotFallback();
+        }
+    }
+
     public void enterRecursion() {
         if (metrics != null) {
             metrics.enterRecursion();
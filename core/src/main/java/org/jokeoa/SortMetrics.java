@@ -1,5 +1,7 @@
 package org.jokeoa;
 
+import java.util.Locale;
+
 /**
  * Universal class for collecting metrics of sorting algorithms.
  * Supports various types of operations and algorithm quality analysis.
@@ -21,6 +23,8 @@ public class SortMetrics {
     private int bestPartition;
     private int worstPartition;
 
+    private int pivotFallbacks;
+
     /**
      * Reset all counters before starting a new sort
      */
@@ -38,6 +42,7 @@ public class SortMetrics {
         totalPartitionBalance = 0.0;
         bestPartition = 100;
         worstPartition = 0;
+        pivotFallbacks = 0;
     }
 
     /**
@@ -64,6 +69,13 @@ public class SortMetrics {
         totalComparisons++;
     }
 
+    /**
+     * Add comparisons counted elsewhere (e.g. by parallel workers)
+     */
+    public void recordComparisons(int count) {
+        totalComparisons += count;
+    }
+
     /**
      * Increment array access counter (read or write)
      */
@@ -105,6 +117,13 @@ public class SortMetrics {
         }
     }
 
+    /**
+     * Record a switch from a cheap pivot to median-of-medians (introselect)
+     */
+    public void recordPivotFallback() {
+        pivotFallbacks++;
+    }
+
     /**
      * Mark the start of sorting
      */
@@ -151,6 +170,14 @@ public class SortMetrics {
         return worstPartition;
     }
 
+    /**
+     * Number of introselect calls that fell back to median-of-medians pivots;
+     * 0 means every call stayed on the quickselect path
+     */
+    public int getPivotFallbacks() {
+        return pivotFallbacks;
+    }
+
     /**
      * Returns execution time in milliseconds
      */
@@ -158,6 +185,18 @@ public class SortMetrics {
         return (endTime - startTime) / 1_000_000.0;
     }
 
+    /**
+     * All collected metrics as a single-line JSON object
+     */
+    public String toJson(String algorithmName, long arraySize) {
+        return String.format(Locale.ROOT,
+                "{\"algorithm\":\"%s\",\"size\":%d,\"maxRecursionDepth\":%d,\"comparisons\":%d,"
+                        + "\"arrayAccesses\":%d,\"swaps\":%d,\"partitionCalls\":%d,"
+                        + "\"averagePartitionBalance\":%.3f,\"worstPartition\":%d,\"pivotFallbacks\":%d,\"executionTimeMs\":%.3f}",
+                algorithmName, arraySize, maxRecursionDepth, totalComparisons, totalArrayAccesses, totalSwaps,
+                partitionCalls, getAveragePartitionBalance(), getWorstPartition(), pivotFallbacks, getExecutionTimeMs());
+    }
+
     /**
      * Pretty print all collected metrics
      */
@@ -178,6 +217,9 @@ public class SortMetrics {
             System.out.println("Best partition: " + getBestPartition() + "% deviation");
             System.out.println("Worst partition: " + getWorstPartition() + "% deviation");
         }
+        if (pivotFallbacks > 0) {
+            System.out.println("Median-of-medians fallbacks: " + pivotFallbacks);
+        }
 
         System.out.printf("Execution time: %.3f ms%n", getExecutionTimeMs());
 
@@ -0,0 +1,206 @@
+package org.jokeoa;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics over several sorted int arrays (e.g. the runs of an external sort) without
+ * merging them. Each run keeps an active index range. Every round the middle elements of the
+ * active ranges are proposed, and their median weighted by range length becomes the pivot.
+ * Binary search then finds where the pivot falls in every run, the counts decide which side
+ * holds rank k, and every range narrows to that side.
+ * <p>
+ * The weighted median has at least a quarter of the active elements on each side, so a query
+ * takes O(log N) rounds of m binary searches: O(m log² N) for m runs of N elements in total,
+ * independent of how the values interleave. The runs must be sorted ascending and are never
+ * modified.
+ */
+public class SortedRunsSelect {
+
+    /**
+     * @return the k-th smallest element (1-based) of the union of the runs
+     */
+    public static int select(int[][] runs, long k) {
+        long total = validate(runs);
+        if (k < 1 || k > total) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return selectKth(runs, k - 1, null);
+    }
+
+    /**
+     * Records one partition per round and one comparison per binary search step
+     */
+    public static int selectWithMetrics(int[][] runs, long k, SortMetrics metrics) {
+        long total = validate(runs);
+        if (k < 1 || k > total) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int result = selectKth(runs, k - 1, metrics);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * @param ranks 1-based ranks in any order
+     * @return the element at each rank, in the order given
+     */
+    public static int[] selectMany(int[][] runs, long[] ranks) {
+        long total = validate(runs);
+        if (ranks == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        for (long rank : ranks) {
+            if (rank < 1 || rank > total) {
+                throw new IllegalArgumentException("Invalid input parameters");
+            }
+        }
+
+        int[] result = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            result[i] = selectKth(runs, ranks[i] - 1, null);
+        }
+        return result;
+    }
+
+    /**
+     * @return number of elements smaller than value across all runs
+     */
+    public static long countLess(int[][] runs, int value) {
+        validate(runs);
+        long count = 0;
+        for (int[] run : runs) {
+            count += lowerBound(run, 0, run.length, value, null);
+        }
+        return count;
+    }
+
+    /**
+     * @return the total number of elements
+     */
+    private static long validate(int[][] runs) {
+        if (runs == null || runs.length == 0) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        long total = 0;
+        for (int[] run : runs) {
+            if (run == null) {
+                throw new IllegalArgumentException("Invalid input parameters");
+            }
+            total += run.length;
+        }
+        return total;
+    }
+
+    private static int selectKth(int[][] runs, long rank, SortMetrics metrics) {
+        int m = runs.length;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] lessEnd = new int[m];
+        int[] greaterStart = new int[m];
+        // proposals packed as (value << 32) | run, so sorting orders them by value
+        long[] proposals = new long[m];
+
+        long active = 0;
+        for (int r = 0; r < m; r++) {
+            to[r] = runs[r].length;
+            active += to[r];
+        }
+
+        while (true) {
+            int count = 0;
+            for (int r = 0; r < m; r++) {
+                if (from[r] < to[r]) {
+                    int middle = from[r] + (to[r] - from[r] - 1) / 2;
+                    proposals[count++] = ((long) runs[r][middle] << 32) | r;
+                }
+            }
+            Arrays.sort(proposals, 0, count);
+
+            int pivot = 0;
+            long cumulative = 0;
+            for (int i = 0; i < count; i++) {
+                int r = (int) proposals[i];
+                cumulative += to[r] - from[r];
+                if (2 * cumulative >= active) {
+                    pivot = (int) (proposals[i] >> 32);
+                    break;
+                }
+            }
+
+            long less = 0;
+            long equal = 0;
+            for (int r = 0; r < m; r++) {
+                if (from[r] < to[r]) {
+                    lessEnd[r] = lowerBound(runs[r], from[r], to[r], pivot, metrics);
+                    greaterStart[r] = upperBound(runs[r], lessEnd[r], to[r], pivot, metrics);
+                    less += lessEnd[r] - from[r];
+                    equal += greaterStart[r] - lessEnd[r];
+                }
+            }
+            if (metrics != null) {
+                metrics.recordPartition((int) Math.min(Integer.MAX_VALUE, less),
+                        (int) Math.min(Integer.MAX_VALUE, active - less - equal));
+            }
+
+            if (rank < less) {
+                for (int r = 0; r < m; r++) {
+                    if (from[r] < to[r]) {
+                        to[r] = lessEnd[r];
+                    }
+                }
+                active = less;
+            } else if (rank < less + equal) {
+                return pivot;
+            } else {
+                for (int r = 0; r < m; r++) {
+                    if (from[r] < to[r]) {
+                        from[r] = greaterStart[r];
+                    }
+                }
+                rank -= less + equal;
+                active -= less + equal;
+            }
+        }
+    }
+
+    /**
+     * First index in [from, to) whose element is not less than value
+     */
+    private static int lowerBound(int[] run, int from, int to, int value, SortMetrics metrics) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (metrics != null) {
+                metrics.recordComparison();
+            }
+            if (run[mid] < value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * First index in [from, to) whose element is greater than value
+     */
+    private static int upperBound(int[] run, int from, int to, int value, SortMetrics metrics) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (metrics != null) {
+                metrics.recordComparison();
+            }
+            if (run[mid] <= value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+}
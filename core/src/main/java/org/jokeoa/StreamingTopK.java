@@ -0,0 +1,196 @@
+package org.jokeoa;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Keeps the k largest (or smallest) values of a stream that is never materialized.
+ * Values live in a 4-ary min-heap over a primitive array of size k, so memory is O(k),
+ * each offer costs O(log k) at worst and O(1) once the value falls outside the current top k,
+ * and nothing is allocated per element.
+ * <p>
+ * For bottom-k the heap stores the bitwise complement of each value, which reverses the order
+ * without overflow, so both modes share one min-heap.
+ * <p>
+ * Not thread-safe: give each thread its own accumulator and {@link #merge} them, e.g.
+ * {@code stream.parallel().collect(() -> StreamingTopK.largest(k), StreamingTopK::offer, StreamingTopK::merge)}.
+ */
+public class StreamingTopK {
+    private static final int ARITY = 4;
+
+    private final long[] heap;
+    private final boolean largest;
+    private int size;
+    private long offered;
+
+    private StreamingTopK(int k, boolean largest) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        this.heap = new long[k];
+        this.largest = largest;
+    }
+
+    /**
+     * Accumulator for the k largest values
+     */
+    public static StreamingTopK largest(int k) {
+        return new StreamingTopK(k, true);
+    }
+
+    /**
+     * Accumulator for the k smallest values
+     */
+    public static StreamingTopK smallest(int k) {
+        return new StreamingTopK(k, false);
+    }
+
+    public void offer(long value) {
+        offered++;
+        long key = largest ? value : ~value;
+        if (size < heap.length) {
+            heap[size] = key;
+            siftUp(size++);
+        } else if (key > heap[0]) {
+            heap[0] = key;
+            siftDown(0);
+        }
+    }
+
+    public void offer(int value) {
+        offer((long) value);
+    }
+
+    public StreamingTopK offerAll(IntStream values) {
+        values.forEach(this::offer);
+        return this;
+    }
+
+    public StreamingTopK offerAll(LongStream values) {
+        values.forEach(this::offer);
+        return this;
+    }
+
+    /**
+     * Offers every remaining element of the buffer, read in the buffer's byte order
+     * @param type INT or LONG
+     */
+    public StreamingTopK offerAll(ByteBuffer buffer, ElementType type) {
+        if (type == ElementType.DOUBLE) {
+            throw new IllegalArgumentException("Only int and long elements are supported");
+        }
+        while (buffer.remaining() >= type.bytes) {
+            offer(type.readKey(buffer));
+        }
+        return this;
+    }
+
+    /**
+     * Folds another accumulator of the same direction into this one
+     */
+    public StreamingTopK merge(StreamingTopK other) {
+        if (other.largest != largest) {
+            throw new IllegalArgumentException("Cannot merge top-k with bottom-k");
+        }
+        long otherOffered = other.offered;
+        for (int i = 0; i < other.size; i++) {
+            offer(largest ? other.heap[i] : ~other.heap[i]);
+        }
+        offered += otherOffered - other.size;
+        return this;
+    }
+
+    /**
+     * @return the retained values, largest first for top-k and smallest first for bottom-k
+     */
+    public long[] toSortedArray() {
+        long[] keys = Arrays.copyOf(heap, size);
+        Arrays.sort(keys);
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            long key = keys[size - 1 - i];
+            result[i] = largest ? key : ~key;
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #toSortedArray()} for accumulators that were only offered int values
+     */
+    public int[] toSortedIntArray() {
+        long[] values = toSortedArray();
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (int) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * @return the k-th largest (or smallest) value seen so far
+     */
+    public long threshold() {
+        if (size == 0) {
+            throw new IllegalStateException("No values offered");
+        }
+        return largest ? heap[0] : ~heap[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * @return number of values offered, including those of merged accumulators
+     */
+    public long getOffered() {
+        return offered;
+    }
+
+    public void clear() {
+        size = 0;
+        offered = 0;
+    }
+
+    private void siftUp(int index) {
+        long key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    private void siftDown(int index) {
+        long key = heap[index];
+        while (true) {
+            int first = ARITY * index + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + ARITY, size);
+            int child = first;
+            for (int c = first + 1; c < last; c++) {
+                if (heap[c] < heap[child]) {
+                    child = c;
+                }
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+}
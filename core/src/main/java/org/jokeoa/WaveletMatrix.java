@@ -0,0 +1,367 @@
+package org.jokeoa;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Wavelet matrix over a static int column: k-th smallest, count-less-than and quantile queries
+ * on any position range [l, r] in O(log σ), where σ is the value span, instead of copying and
+ * selecting the slice.
+ * <p>
+ * Values are stored as offsets from the minimum, one level per offset bit from the highest down.
+ * Each level is a bit-vector in a long[] with a rank directory holding the number of ones before
+ * every word, so rank is one lookup plus one {@link Long#bitCount}. Below each level, elements
+ * with a 0 bit come first in stable order, then those with a 1 bit.
+ * <p>
+ * Levels are built chunk by chunk on a fork/join pool. {@link #write} stores the matrix in a
+ * little-endian file that {@link #map} serves directly from memory-mapped buffers.
+ */
+public class WaveletMatrix {
+    private static final int MAGIC = 0x574d5431;
+    private static final int MAX_LEVELS = Integer.SIZE;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES + MAX_LEVELS * Integer.BYTES;
+    private static final int CHUNK_WORDS = 1 << 10;
+
+    private final int size;
+    private final int levels;
+    private final long min;
+    private final int[] zeros;
+    private final LongBuffer[] words;
+    private final IntBuffer[] ranks;
+
+    private WaveletMatrix(int size, int levels, long min, int[] zeros, LongBuffer[] words, IntBuffer[] ranks) {
+        this.size = size;
+        this.levels = levels;
+        this.min = min;
+        this.zeros = zeros;
+        this.words = words;
+        this.ranks = ranks;
+    }
+
+    /**
+     * Builds on the common pool; the input is not modified
+     */
+    public static WaveletMatrix build(int[] values) {
+        return build(values, ForkJoinPool.commonPool());
+    }
+
+    public static WaveletMatrix build(int[] values, ForkJoinPool pool) {
+        if (values == null || values.length == 0 || pool == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        int n = values.length;
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        for (int value : values) {
+            low = Math.min(low, value);
+            high = Math.max(high, value);
+        }
+        long min = low;
+        long span = (long) high - low;
+        int levelCount = Long.SIZE - Long.numberOfLeadingZeros(span);
+
+        // offsets from the minimum fit in 32 unsigned bits
+        int[] current = new int[n];
+        for (int i = 0; i < n; i++) {
+            current[i] = (int) (values[i] - min);
+        }
+        int[] next = new int[n];
+
+        int wordCount = (n + Long.SIZE - 1) / Long.SIZE;
+        int chunkCount = (wordCount + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        int[] chunkOnes = new int[chunkCount];
+        int[] zeros = new int[levelCount];
+        LongBuffer[] words = new LongBuffer[levelCount];
+        IntBuffer[] ranks = new IntBuffer[levelCount];
+
+        for (int level = 0; level < levelCount; level++) {
+            int shift = levelCount - 1 - level;
+            long[] bits = new long[wordCount];
+            int[] rank = new int[wordCount + 1];
+            int[] source = current;
+            int[] target = next;
+
+            // set the bits of each chunk and count its ones
+            forEachChunk(pool, chunkCount, c -> {
+                int firstWord = c * CHUNK_WORDS;
+                int lastWord = Math.min(wordCount, firstWord + CHUNK_WORDS);
+                int ones = 0;
+                for (int w = firstWord; w < lastWord; w++) {
+                    int from = w * Long.SIZE;
+                    int to = Math.min(n, from + Long.SIZE);
+                    long word = 0;
+                    for (int i = from; i < to; i++) {
+                        word |= (long) ((source[i] >>> shift) & 1) << (i - from);
+                    }
+                    bits[w] = word;
+                    ones += Long.bitCount(word);
+                }
+                chunkOnes[c] = ones;
+            });
+
+            int[] onesBefore = new int[chunkCount + 1];
+            for (int c = 0; c < chunkCount; c++) {
+                onesBefore[c + 1] = onesBefore[c] + chunkOnes[c];
+            }
+            int zeroCount = n - onesBefore[chunkCount];
+
+            // fill the rank directory and scatter zeros first, then ones, keeping order
+            forEachChunk(pool, chunkCount, c -> {
+                int firstWord = c * CHUNK_WORDS;
+                int lastWord = Math.min(wordCount, firstWord + CHUNK_WORDS);
+                int ones = onesBefore[c];
+                for (int w = firstWord; w < lastWord; w++) {
+                    rank[w] = ones;
+                    ones += Long.bitCount(bits[w]);
+                }
+                if (lastWord == wordCount) {
+                    rank[wordCount] = ones;
+                }
+
+                int from = firstWord * Long.SIZE;
+                int to = (int) Math.min(n, (long) lastWord * Long.SIZE);
+                int zeroPosition = from - onesBefore[c];
+                int onePosition = zeroCount + onesBefore[c];
+                for (int i = from; i < to; i++) {
+                    if (((bits[i >>> 6] >>> (i & 63)) & 1) == 0) {
+                        target[zeroPosition++] = source[i];
+                    } else {
+                        target[onePosition++] = source[i];
+                    }
+                }
+            });
+
+            zeros[level] = zeroCount;
+            words[level] = LongBuffer.wrap(bits);
+            ranks[level] = IntBuffer.wrap(rank);
+            current = target;
+            next = source;
+        }
+
+        return new WaveletMatrix(n, levelCount, min, zeros, words, ranks);
+    }
+
+    /**
+     * @return the k-th smallest value (1-based) among positions l..r inclusive
+     */
+    public int kthSmallest(int l, int r, int k) {
+        checkRange(l, r);
+        if (k < 1 || k > r - l + 1) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        int from = l;
+        int to = r + 1;
+        long offset = 0;
+        for (int level = 0; level < levels; level++) {
+            int onesFrom = rank1(level, from);
+            int onesTo = rank1(level, to);
+            int zeroCount = (to - from) - (onesTo - onesFrom);
+            if (k <= zeroCount) {
+                from -= onesFrom;
+                to -= onesTo;
+            } else {
+                k -= zeroCount;
+                from = zeros[level] + onesFrom;
+                to = zeros[level] + onesTo;
+                offset |= 1L << (levels - 1 - level);
+            }
+        }
+        return (int) (min + offset);
+    }
+
+    /**
+     * @return number of values smaller than value among positions l..r inclusive
+     */
+    public int countLess(int l, int r, int value) {
+        checkRange(l, r);
+        if (value <= min) {
+            return 0;
+        }
+        long offset = value - min;
+        if (offset >>> levels != 0) {
+            return r - l + 1;
+        }
+
+        int from = l;
+        int to = r + 1;
+        int count = 0;
+        for (int level = 0; level < levels && from < to; level++) {
+            int onesFrom = rank1(level, from);
+            int onesTo = rank1(level, to);
+            if (((offset >>> (levels - 1 - level)) & 1) == 0) {
+                from -= onesFrom;
+                to -= onesTo;
+            } else {
+                count += (to - from) - (onesTo - onesFrom);
+                from = zeros[level] + onesFrom;
+                to = zeros[level] + onesTo;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param q quantile in [0, 1] of positions l..r inclusive, nearest-rank definition
+     */
+    public int quantile(int l, int r, double q) {
+        checkRange(l, r);
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        int k = (int) Math.max(1, Math.ceil(q * (r - l + 1)));
+        return kthSmallest(l, r, k);
+    }
+
+    /**
+     * @return the value at position i
+     */
+    public int get(int i) {
+        checkRange(i, i);
+        long offset = 0;
+        for (int level = 0; level < levels; level++) {
+            int ones = rank1(level, i);
+            if (((words[level].get(i >>> 6) >>> (i & 63)) & 1) == 0) {
+                i -= ones;
+            } else {
+                i = zeros[level] + ones;
+                offset |= 1L << (levels - 1 - level);
+            }
+        }
+        return (int) (min + offset);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of bit-vector levels, the bit length of max - min
+     */
+    public int levels() {
+        return levels;
+    }
+
+    /**
+     * Stores the matrix: a header (magic, size, levels, min, zero counts), then the bit-vectors
+     * of all levels, then their rank directories
+     */
+    public void write(Path file) throws IOException {
+        int wordCount = (size + Long.SIZE - 1) / Long.SIZE;
+        try (FileChannel channel = MappedFiles.openForWrite(file)) {
+            MappedByteBuffer header = MappedFiles.mapReadWrite(channel, 0, HEADER_BYTES);
+            header.putInt(MAGIC).putInt(size).putInt(levels).putInt(0).putLong(min);
+            for (int level = 0; level < MAX_LEVELS; level++) {
+                header.putInt(level < levels ? zeros[level] : 0);
+            }
+
+            for (int level = 0; level < levels; level++) {
+                LongBuffer target = MappedFiles.mapReadWrite(channel, wordsPosition(level, wordCount),
+                        (long) wordCount * Long.BYTES).asLongBuffer();
+                target.put(words[level].duplicate().clear());
+            }
+            for (int level = 0; level < levels; level++) {
+                IntBuffer target = MappedFiles.mapReadWrite(channel, ranksPosition(levels, level, wordCount),
+                        (long) (wordCount + 1) * Integer.BYTES).asIntBuffer();
+                target.put(ranks[level].duplicate().clear());
+            }
+        }
+    }
+
+    /**
+     * Serves a matrix written by {@link #write} from memory-mapped buffers; nothing is loaded onto the heap
+     */
+    public static WaveletMatrix map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalArgumentException("Not a wavelet matrix file");
+            }
+            ByteBuffer header = MappedFiles.mapReadOnly(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a wavelet matrix file");
+            }
+            int size = header.getInt();
+            int levels = header.getInt();
+            header.getInt();
+            long min = header.getLong();
+            if (size < 1 || levels < 0 || levels > MAX_LEVELS) {
+                throw new IllegalArgumentException("Corrupt wavelet matrix file");
+            }
+            int[] zeros = new int[levels];
+            for (int level = 0; level < levels; level++) {
+                zeros[level] = header.getInt();
+            }
+
+            int wordCount = (size + Long.SIZE - 1) / Long.SIZE;
+            if (channel.size() < ranksPosition(levels, levels, wordCount)) {
+                throw new IllegalArgumentException("Corrupt wavelet matrix file");
+            }
+            LongBuffer[] words = new LongBuffer[levels];
+            IntBuffer[] ranks = new IntBuffer[levels];
+            for (int level = 0; level < levels; level++) {
+                words[level] = MappedFiles.mapReadOnly(channel, wordsPosition(level, wordCount),
+                        (long) wordCount * Long.BYTES).asLongBuffer();
+                ranks[level] = MappedFiles.mapReadOnly(channel, ranksPosition(levels, level, wordCount),
+                        (long) (wordCount + 1) * Integer.BYTES).asIntBuffer();
+            }
+            return new WaveletMatrix(size, levels, min, zeros, words, ranks);
+        }
+    }
+
+    /**
+     * Number of ones among the first i bits of a level
+     */
+    private int rank1(int level, int i) {
+        int word = i >>> 6;
+        int bits = i & 63;
+        int rank = ranks[level].get(word);
+        return bits == 0 ? rank : rank + Long.bitCount(words[level].get(word) << (Long.SIZE - bits));
+    }
+
+    private void checkRange(int l, int r) {
+        if (l < 0 || r >= size || l > r) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+    }
+
+    private static long wordsPosition(int level, int wordCount) {
+        return HEADER_BYTES + (long) level * wordCount * Long.BYTES;
+    }
+
+    /**
+     * Rank directories follow the bit-vectors of all levels; for level == levels this is the file end
+     */
+    private static long ranksPosition(int levels, int level, int wordCount) {
+        return wordsPosition(levels, wordCount) + (long) level * (wordCount + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Runs body(c) for every chunk c on the pool and waits for all of them
+     */
+    private static void forEachChunk(ForkJoinPool pool, int chunkCount, IntConsumer body) {
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    int chunk = c;
+                    tasks.add(ForkJoinTask.adapt(() -> body.accept(chunk)));
+                }
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+    }
+}
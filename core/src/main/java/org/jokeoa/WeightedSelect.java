@@ -0,0 +1,240 @@
+package org.jokeoa;
+
+/**
+ * Weighted order statistics: every int value carries a non-negative long weight, and the
+ * answer for target weight t is the smallest value whose cumulative weight (of all values
+ * less than or equal to it) reaches t. The value and weight arrays are partitioned together
+ * around a median-of-medians pivot, and only the side holding the target weight is kept, so
+ * the running time is linear in the worst case.
+ * <p>
+ * {@link #select} works on one scratch copy of both arrays; the in-place variant allocates nothing.
+ */
+public class WeightedSelect {
+
+    /**
+     * @param target cumulative weight to reach, between 1 and the total weight
+     * @return the smallest value whose cumulative weight is at least target
+     */
+    public static int select(int[] values, long[] weights, long target) {
+        long total = validate(values, weights);
+        if (target < 1 || target > total) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return selectByWeight(new SortContext(values.clone()), weights.clone(), target);
+    }
+
+    public static int selectWithMetrics(int[] values, long[] weights, long target, SortMetrics metrics) {
+        long total = validate(values, weights);
+        if (target < 1 || target > total) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        metrics.reset();
+        metrics.startTiming();
+
+        int result = selectByWeight(new SortContext(values.clone(), metrics), weights.clone(), target);
+
+        metrics.endTiming();
+        return result;
+    }
+
+    /**
+     * Same as {@link #select} without the scratch copy; both arrays are reordered together
+     */
+    public static int selectInPlace(int[] values, long[] weights, long target) {
+        long total = validate(values, weights);
+        if (target < 1 || target > total) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        return selectByWeight(new SortContext(values), weights, target);
+    }
+
+    /**
+     * Weighted lower median: the smallest value holding at least half the total weight
+     */
+    public static int weightedMedian(int[] values, long[] weights) {
+        return weightedQuantile(values, weights, 0.5);
+    }
+
+    /**
+     * @param q quantile in [0, 1] of the total weight
+     */
+    public static int weightedQuantile(int[] values, long[] weights, double q) {
+        long total = validate(values, weights);
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        long target = Math.max(1, (long) Math.ceil(q * total));
+        return selectByWeight(new SortContext(values.clone()), weights.clone(), Math.min(target, total));
+    }
+
+    /**
+     * @return the total weight
+     */
+    private static long validate(int[] values, long[] weights) {
+        if (values == null || weights == null || values.length == 0 || values.length != weights.length) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        long total = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must be non-negative");
+            }
+            total += weight;
+            if (total < 0) {
+                throw new IllegalArgumentException("Total weight overflows a long");
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Total weight must be positive");
+        }
+        return total;
+    }
+
+    private static int selectByWeight(SortContext context, long[] weights, long target) {
+        int[] values = context.getArray();
+        int left = 0;
+        int right = values.length - 1;
+
+        while (true) {
+            int pivotIndex = medianOfMedians(context, weights, left, right);
+            long equalRange = partitionThreeWay(context, weights, left, right, pivotIndex);
+            int lessEnd = (int) (equalRange >>> 32);
+            int greaterStart = (int) equalRange + 1;
+
+            long lessWeight = 0;
+            for (int i = left; i < lessEnd; i++) {
+                lessWeight += weights[i];
+            }
+            long equalWeight = 0;
+            for (int i = lessEnd; i < greaterStart; i++) {
+                equalWeight += weights[i];
+            }
+
+            context.recordComparison();
+            if (target <= lessWeight) {
+                right = lessEnd - 1;
+            } else if (target <= lessWeight + equalWeight) {
+                context.recordArrayAccess();
+                return values[lessEnd];
+            } else {
+                target -= lessWeight + equalWeight;
+                left = greaterStart;
+            }
+        }
+    }
+
+    /**
+     * Places the element of positional rank k (absolute index) of [left, right] at index k,
+     * moving weights along; used to find the median of the group medians
+     */
+    private static void selectPosition(SortContext context, long[] weights, int left, int right, int k) {
+        while (left < right) {
+            int pivotIndex = medianOfMedians(context, weights, left, right);
+            long equalRange = partitionThreeWay(context, weights, left, right, pivotIndex);
+            int lessEnd = (int) (equalRange >>> 32);
+            int greaterStart = (int) equalRange + 1;
+
+            if (k < lessEnd) {
+                right = lessEnd - 1;
+            } else if (k >= greaterStart) {
+                left = greaterStart;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * In-place median of medians of groups of five: group medians are moved to the front of the
+     * range and their median is selected there
+     * @return index of the pivot
+     */
+    private static int medianOfMedians(SortContext context, long[] weights, int left, int right) {
+        int n = right - left + 1;
+
+        if (n <= 5) {
+            insertionSort(context, weights, left, right);
+            return left + (n - 1) / 2;
+        }
+
+        int numGroups = (n + 4) / 5;
+
+        for (int i = 0; i < numGroups; i++) {
+            int groupLeft = left + i * 5;
+            int groupRight = Math.min(groupLeft + 4, right);
+
+            insertionSort(context, weights, groupLeft, groupRight);
+            int medianIndex = groupLeft + (groupRight - groupLeft) / 2;
+            swap(context, weights, left + i, medianIndex);
+        }
+
+        int pivotIndex = left + numGroups / 2;
+        selectPosition(context, weights, left, left + numGroups - 1, pivotIndex);
+        return pivotIndex;
+    }
+
+    /**
+     * Dijkstra three-way partition of [left, right] around the value at pivotIndex, moving weights along
+     * @return the range of values equal to the pivot, packed as (first << 32) | last
+     */
+    private static long partitionThreeWay(SortContext context, long[] weights, int left, int right, int pivotIndex) {
+        int[] values = context.getArray();
+        context.recordArrayAccess();
+        int pivotValue = values[pivotIndex];
+
+        int lt = left;
+        int gt = right;
+        int i = left;
+        while (i <= gt) {
+            context.recordArrayAccess();
+            context.recordComparison();
+            int cmp = context.compare(values[i], pivotValue);
+            if (cmp < 0) {
+                swap(context, weights, lt++, i++);
+            } else if (cmp > 0) {
+                swap(context, weights, i, gt--);
+            } else {
+                i++;
+            }
+        }
+
+        context.recordPartition(lt - left, right - gt);
+        return ((long) lt << 32) | gt;
+    }
+
+    private static void insertionSort(SortContext context, long[] weights, int left, int right) {
+        int[] values = context.getArray();
+        for (int i = left + 1; i <= right; i++) {
+            int key = values[i];
+            long weight = weights[i];
+            int j = i - 1;
+
+            while (j >= left) {
+                context.recordComparison();
+                if (context.compare(values[j], key) <= 0) {
+                    break;
+                }
+                values[j + 1] = values[j];
+                weights[j + 1] = weights[j];
+                context.recordArrayAccess();
+                j--;
+            }
+            values[j + 1] = key;
+            weights[j + 1] = weight;
+        }
+    }
+
+    private static void swap(SortContext context, long[] weights, int i, int j) {
+        int[] values = context.getArray();
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+        long weight = weights[i];
+        weights[i] = weights[j];
+        weights[j] = weight;
+        context.recordSwap();
+    }
+}
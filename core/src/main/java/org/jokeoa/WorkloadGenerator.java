@@ -0,0 +1,256 @@
+package org.jokeoa;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, seeded inputs for tests and benchmarks.
+ * The same shape, seed and parameter always produce the same sequence, whether it is
+ * materialized as an array or streamed into a memory-mapped file with {@link MappedFiles}.
+ * <p>
+ * Points follow the shape on the x axis with y uniform in [-500, 500);
+ * UNIFORM and CLUSTERED points use the shape on both axes.
+ */
+public class WorkloadGenerator {
+    private static final double COORDINATE_RANGE = 1000.0;
+    private static final double DOUBLE_CLUSTER_SPREAD = 5.0;
+    private static final double INT_CLUSTER_SPREAD = 1 << 16;
+    private static final double LONG_CLUSTER_SPREAD = 1 << 24;
+
+    private final WorkloadShape shape;
+    private final long seed;
+    private final int parameter;
+
+    /**
+     * @param shape input shape
+     * @param seed random seed
+     * @param parameter shape parameter: cardinality for ZIPF and FEW_UNIQUE,
+     *                  tooth length for SAWTOOTH, cluster count for CLUSTERED
+     */
+    public WorkloadGenerator(WorkloadShape shape, long seed, int parameter) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Shape is required");
+        }
+        if (shape.getDefaultParameter() > 0 && parameter < 1) {
+            throw new IllegalArgumentException("Shape parameter must be positive for " + shape);
+        }
+        this.shape = shape;
+        this.seed = seed;
+        this.parameter = parameter;
+    }
+
+    /**
+     * Constructor with the shape's default parameter
+     */
+    public WorkloadGenerator(WorkloadShape shape, long seed) {
+        this(shape, seed, shape == null ? 0 : shape.getDefaultParameter());
+    }
+
+    public WorkloadShape getShape() {
+        return shape;
+    }
+
+    public int[] ints(int size) {
+        checkSize(size);
+        Sequence sequence = new Sequence(size, true);
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = (int) sequence.nextLong();
+        }
+        return array;
+    }
+
+    public long[] longs(int size) {
+        checkSize(size);
+        Sequence sequence = new Sequence(size, false);
+        long[] array = new long[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = sequence.nextLong();
+        }
+        return array;
+    }
+
+    public double[] doubles(int size) {
+        checkSize(size);
+        Sequence sequence = new Sequence(size, false);
+        double[] array = new double[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = sequence.nextDouble();
+        }
+        return array;
+    }
+
+    public Point2D[] points(int size) {
+        checkSize(size);
+        Sequence sequence = new Sequence(size, false);
+        Point2D[] points = new Point2D[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = new Point2D(sequence.nextDouble(), sequence.nextY());
+        }
+        return points;
+    }
+
+    /**
+     * Streams count little-endian ints into the file without materializing them
+     */
+    public void writeInts(Path file, long count) throws IOException {
+        checkSize(count);
+        Sequence sequence = new Sequence(count, true);
+        MappedFiles.writeInts(file, count, () -> (int) sequence.nextLong());
+    }
+
+    /**
+     * Streams count little-endian longs into the file without materializing them
+     */
+    public void writeLongs(Path file, long count) throws IOException {
+        checkSize(count);
+        Sequence sequence = new Sequence(count, false);
+        MappedFiles.writeLongs(file, count, sequence::nextLong);
+    }
+
+    /**
+     * Streams count little-endian doubles into the file without materializing them
+     */
+    public void writeDoubles(Path file, long count) throws IOException {
+        checkSize(count);
+        Sequence sequence = new Sequence(count, false);
+        MappedFiles.writeDoubles(file, count, sequence::nextDouble);
+    }
+
+    /**
+     * Streams count points into the file as interleaved little-endian x, y doubles
+     */
+    public void writePoints(Path file, long count) throws IOException {
+        checkSize(count);
+        Sequence sequence = new Sequence(count, false);
+        boolean[] yNext = {false};
+        MappedFiles.writeDoubles(file, 2 * count, () -> {
+            yNext[0] = !yNext[0];
+            return yNext[0] ? sequence.nextDouble() : sequence.nextY();
+        });
+    }
+
+    private static void checkSize(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative");
+        }
+    }
+
+    /**
+     * One pass over the workload: generates element after element in O(1) memory
+     * (O(parameter) for ZIPF and CLUSTERED tables).
+     */
+    private class Sequence {
+        private final long count;
+        private final boolean intRange;
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private final double[] zipfCdf;
+        private final double[] centersX;
+        private final double[] centersY;
+        private long index;
+        private int lastCluster;
+
+        Sequence(long count, boolean intRange) {
+            this.count = count;
+            this.intRange = intRange;
+            this.zipfCdf = shape == WorkloadShape.ZIPF ? buildZipfCdf(parameter) : null;
+
+            if (shape == WorkloadShape.CLUSTERED) {
+                centersX = new double[parameter];
+                centersY = new double[parameter];
+                for (int i = 0; i < parameter; i++) {
+                    centersX[i] = random.nextDouble();
+                    centersY[i] = random.nextDouble();
+                }
+            } else {
+                centersX = null;
+                centersY = null;
+            }
+        }
+
+        long nextLong() {
+            long i = index++;
+            switch (shape) {
+                case SORTED:
+                    return i;
+                case REVERSE:
+                    return count - i;
+                case SAWTOOTH:
+                    return i % parameter;
+                case ORGAN_PIPE:
+                    long mid = count / 2;
+                    return i < mid ? mid - i : i - mid + 1;
+                case ZIPF:
+                    return zipfRank();
+                case FEW_UNIQUE:
+                    return random.nextInt(parameter);
+                case ALL_IDENTICAL:
+                    return 42;
+                case CLUSTERED:
+                    lastCluster = random.nextInt(parameter);
+                    double unit = centersX[lastCluster] - 0.5;
+                    return intRange
+                            ? (long) (unit * Integer.MAX_VALUE + random.nextGaussian() * INT_CLUSTER_SPREAD)
+                            : (long) (unit * Long.MAX_VALUE) + (long) (random.nextGaussian() * LONG_CLUSTER_SPREAD);
+                default:
+                    return intRange ? random.nextInt() : random.nextLong();
+            }
+        }
+
+        double nextDouble() {
+            switch (shape) {
+                case CLUSTERED:
+                    index++;
+                    lastCluster = random.nextInt(parameter);
+                    return (centersX[lastCluster] - 0.5) * COORDINATE_RANGE
+                            + random.nextGaussian() * DOUBLE_CLUSTER_SPREAD;
+                case UNIFORM:
+                    index++;
+                    return random.nextDouble() * COORDINATE_RANGE - COORDINATE_RANGE / 2;
+                default:
+                    return nextLong();
+            }
+        }
+
+        /**
+         * y coordinate of the point whose x was produced by the last nextDouble call
+         */
+        double nextY() {
+            if (shape == WorkloadShape.CLUSTERED) {
+                return (centersY[lastCluster] - 0.5) * COORDINATE_RANGE
+                        + random.nextGaussian() * DOUBLE_CLUSTER_SPREAD;
+            }
+            return random.nextDouble() * COORDINATE_RANGE - COORDINATE_RANGE / 2;
+        }
+
+        private int zipfRank() {
+            double u = random.nextDouble();
+            int low = 0;
+            int high = zipfCdf.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (zipfCdf[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static double[] buildZipfCdf(int ranks) {
+        double[] cdf = new double[ranks];
+        double sum = 0;
+        for (int i = 0; i < ranks; i++) {
+            sum += 1.0 / (i + 1);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < ranks; i++) {
+            cdf[i] /= sum;
+        }
+        cdf[ranks - 1] = 1.0;
+        return cdf;
+    }
+}
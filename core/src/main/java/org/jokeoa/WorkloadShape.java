@@ -0,0 +1,36 @@
+package org.jokeoa;
+
+/**
+ * Input shapes produced by {@link WorkloadGenerator}.
+ * The shape parameter (cardinality, tooth length, cluster count) has a per-shape default.
+ */
+public enum WorkloadShape {
+    /** 0, 1, 2, ... */
+    SORTED(0),
+    /** n, n-1, ..., 1 */
+    REVERSE(0),
+    /** Ascending runs of the given tooth length: 0..t-1, 0..t-1, ... */
+    SAWTOOTH(1000),
+    /** Decreasing to the middle, then increasing */
+    ORGAN_PIPE(0),
+    /** Ranks 0..m-1 drawn with Zipf(1) probabilities, rank 0 most frequent */
+    ZIPF(1000),
+    /** Uniform over a few distinct values 0..m-1 */
+    FEW_UNIQUE(10),
+    /** Every element equal */
+    ALL_IDENTICAL(0),
+    /** Gaussian clouds around the given number of random centers */
+    CLUSTERED(8),
+    /** Uniform over the whole int or long range; doubles and point coordinates uniform in [-500, 500) */
+    UNIFORM(0);
+
+    private final int defaultParameter;
+
+    WorkloadShape(int defaultParameter) {
+        this.defaultParameter = defaultParameter;
+    }
+
+    public int getDefaultParameter() {
+        return defaultParameter;
+    }
+}
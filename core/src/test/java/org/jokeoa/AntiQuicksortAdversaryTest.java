@@ -0,0 +1,129 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+/**
+ * Adaptive adversary tests: static patterns cannot hurt random pivots,
+ * but an adversary that answers comparisons lazily can hurt any QuickSort pivot rule.
+ */
+public class AntiQuicksortAdversaryTest {
+
+    @Test
+    @DisplayName("Every pivot strategy is driven quadratic")
+    void testQuickSortIsQuadratic() {
+        int n = 2000;
+
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            AntiQuicksortAdversary.Result result = AntiQuicksortAdversary.attackQuickSort(n, strategy);
+
+            long comparisons = result.metrics.getTotalComparisons();
+            assertTrue(comparisons >= (long) n * n / 8,
+                    strategy + ": expected quadratic comparisons, got " + comparisons);
+
+            System.out.printf("Antiqsort vs QuickSort(%s), n=%d: %d comparisons (n^2/2 = %d), depth %d%n",
+                    strategy, n, comparisons, (long) n * n / 2, result.metrics.getMaxRecursionDepth());
+        }
+    }
+
+    @Test
+    @DisplayName("Smaller-first recursion keeps the stack shallow under attack")
+    void testQuickSortDepthStaysLogarithmic() {
+        int n = 2000;
+        int maxDepth = (int) (Math.log(n) / Math.log(2)) + 2;
+
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            AntiQuicksortAdversary.Result result = AntiQuicksortAdversary.attackQuickSort(n, strategy);
+            assertTrue(result.metrics.getMaxRecursionDepth() <= maxDepth,
+                    strategy + ": depth " + result.metrics.getMaxRecursionDepth() + " > " + maxDepth);
+        }
+    }
+
+    @Test
+    @DisplayName("Crafted input replays the worst case for deterministic pivots")
+    void testCraftedInputReplays() {
+        int n = 1000;
+
+        for (PivotStrategy strategy : new PivotStrategy[]{PivotStrategy.FIRST, PivotStrategy.MIDDLE,
+                PivotStrategy.MEDIAN_OF_THREE}) {
+            AntiQuicksortAdversary.Result result = AntiQuicksortAdversary.attackQuickSort(n, strategy);
+
+            int[] sorted = result.input.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < n; i++) {
+                assertEquals(i, sorted[i], "Crafted input should be a permutation of 0..n-1");
+            }
+
+            int[] replay = result.input.clone();
+            SortMetrics metrics = QuickSort.sortWithMetrics(replay, strategy);
+
+            assertArrayEquals(sorted, replay);
+            assertEquals(result.metrics.getTotalComparisons(), metrics.getTotalComparisons(),
+                    strategy + ": replay should repeat the attack exactly");
+        }
+    }
+
+    @Test
+    @DisplayName("DeterministicSelect stays linear against the adversary")
+    void testSelectStaysLinear() {
+        int[] sizes = {500, 1000, 2000, 4000};
+
+        for (int n : sizes) {
+            AntiQuicksortAdversary adversary = new AntiQuicksortAdversary(n);
+            SortMetrics metrics = new SortMetrics();
+            metrics.reset();
+            SortContext context = new SortContext(adversary.items(), metrics, 7, adversary);
+
+            int k = n / 2;
+            int item = DeterministicSelect.selectInPlace(context, k);
+
+            assertEquals(k - 1, adversary.getInput()[item], "Selected item should hold the k-th smallest value");
+            assertTrue(metrics.getTotalComparisons() <= 20L * n,
+                    "Size " + n + ": " + metrics.getTotalComparisons() + " comparisons is not linear");
+
+            int maxDepth = (int) (Math.log(n) / Math.log(2)) + 10;
+            assertTrue(metrics.getMaxRecursionDepth() <= maxDepth,
+                    "Size " + n + ": depth " + metrics.getMaxRecursionDepth() + " > " + maxDepth);
+        }
+    }
+
+    @Test
+    @DisplayName("Attack helper for DeterministicSelect")
+    void testAttackSelect() {
+        AntiQuicksortAdversary.Result result = AntiQuicksortAdversary.attackSelect(1000, 1);
+
+        assertEquals(1000, result.input.length);
+        assertTrue(result.metrics.getTotalComparisons() <= 20L * 1000);
+    }
+
+    @Test
+    @DisplayName("Introselect falls back to median-of-medians under attack")
+    void testAttackIntroSelect() {
+        int n = 20_000;
+        AntiQuicksortAdversary.Result result = AntiQuicksortAdversary.attackIntroSelect(n, n / 2);
+
+        System.out.println("Introselect vs adversary (n=" + n + "): " + result.metrics.getTotalComparisons()
+                + " comparisons, " + result.metrics.getPivotFallbacks() + " fallback(s)");
+
+        assertEquals(1, result.metrics.getPivotFallbacks());
+        assertTrue(result.metrics.getTotalComparisons() <= 20L * n, "Comparisons must stay linear");
+
+        int[] input = result.input;
+        int[] sorted = input.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[n / 2 - 1], DeterministicSelect.introSelect(input, n / 2));
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new AntiQuicksortAdversary(0), "Should throw for empty item set");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            AntiQuicksortAdversary.attackSelect(10, 11), "Should throw for k > n");
+    }
+}
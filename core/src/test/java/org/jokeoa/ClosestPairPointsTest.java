@@ -347,6 +347,127 @@ public class ClosestPairPointsTest {
         }
     }
 
+    @Test
+    @DisplayName("PointSet variant matches brute force on every workload shape")
+    void testPointSetMatchesBruteForce() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            Point2D[] points = new WorkloadGenerator(shape, 42).points(1500);
+            PointPair expected = bruteForceClosestPair(points);
+
+            PointPair result = ClosestPairPoints.findClosestPairIndexed(PointSet.of(points));
+            assertEquals(expected.distance, result.distance, shape.name());
+            assertEquals(expected.distance, result.point1.distanceTo(result.point2), shape.name());
+        }
+
+        Point2D[] negative = {
+            new Point2D(-5, -5),
+            new Point2D(-3, -4),
+            new Point2D(1, 2),
+            new Point2D(0, 0)
+        };
+        assertEquals(bruteForceClosestPair(negative).distance,
+                ClosestPairPoints.findClosestPairIndexed(PointSet.of(negative)).distance);
+    }
+
+    @Test
+    @DisplayName("PointSet variant uses a fraction of the memory")
+    void testPointSetMemory() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        int size = 200_000;
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadShape.UNIFORM, 42);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        Point2D[] objects = generator.points(size);
+        PointPair expected = ClosestPairPoints.findClosestPair(objects);
+        long objectBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        PointSet points = PointSet.of(objects);
+        SortMetrics metrics = new SortMetrics();
+        PointPair result = ClosestPairPoints.findClosestPairIndexedWithMetrics(points, metrics);
+        long indexedBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        System.out.printf("Closest pair of %d points: Point2D[] %.1f MB allocated, PointSet %.1f MB, %d comparisons%n",
+                size, objectBytes / 1e6, indexedBytes / 1e6, metrics.getTotalComparisons());
+        assertEquals(expected.distance, result.distance);
+        assertTrue(indexedBytes < objectBytes * 2 / 3);
+    }
+
+    @Test
+    @DisplayName("Index sort orders indices by key and keeps ties in index order")
+    void testIndexSort() {
+        double[] keys = {3.5, -1.0, 3.5, Double.NaN, -0.0, 0.0, -1.0};
+        assertArrayEquals(new int[]{1, 6, 4, 5, 0, 2, 3}, IndexSort.sortedBy(keys));
+        assertArrayEquals(new int[]{}, IndexSort.sortedBy(new double[]{}));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ClosestPairPoints.findClosestPairIndexed(new PointSet(new double[]{1}, new double[]{1})),
+            "Should throw for single point");
+        assertThrows(IllegalArgumentException.class, () ->
+            new PointSet(new double[]{1, 2}, new double[]{1}), "Should throw for mismatched coordinates");
+    }
+
+    @Test
+    @DisplayName("Workspace matches brute force and can be reused across sizes")
+    void testWorkspaceMatchesBruteForce() {
+        ClosestPairWorkspace workspace = new ClosestPairWorkspace(100);
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            for (int size : new int[]{2, 3, 4, 7, 100, 1500}) {
+                Point2D[] points = new WorkloadGenerator(shape, 42).points(size);
+                PointPair expected = bruteForceClosestPair(points);
+
+                PointPair result = workspace.findClosestPair(points);
+                assertEquals(expected.distance, result.distance, shape + ", " + size);
+                assertEquals(expected.distance, result.point1.distanceTo(result.point2), shape + ", " + size);
+                assertEquals(expected.distance, workspace.findClosestPair(PointSet.of(points)).distance,
+                        shape + ", " + size);
+            }
+        }
+
+        Point2D[] negative = {
+            new Point2D(-5, -5),
+            new Point2D(-3, -4),
+            new Point2D(1, 2),
+            new Point2D(0, 0)
+        };
+        assertEquals(Math.sqrt(5), workspace.findClosestPair(negative).distance, EPSILON);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            workspace.findClosestPair(new Point2D[]{new Point2D(0, 0)}), "Should throw for single point");
+        assertThrows(IllegalArgumentException.class, () ->
+            new ClosestPairWorkspace(-1), "Should throw for negative capacity");
+    }
+
+    @Test
+    @DisplayName("Workspace search allocates only the result")
+    void testWorkspaceAllocationFree() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        int size = 200_000;
+        Point2D[] objects = new WorkloadGenerator(WorkloadShape.UNIFORM, 42).points(size);
+        PointSet points = PointSet.of(objects);
+        ClosestPairWorkspace workspace = new ClosestPairWorkspace(size);
+        workspace.findClosestPair(objects);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        PointPair expected = ClosestPairPoints.findClosestPair(objects);
+        long recursiveBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        long start = System.nanoTime();
+        before = threads.getCurrentThreadAllocatedBytes();
+        PointPair fromObjects = workspace.findClosestPair(objects);
+        PointPair fromPointSet = workspace.findClosestPair(points);
+        long workspaceBytes = threads.getCurrentThreadAllocatedBytes() - before;
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("Closest pair of %d points: recursive %.1f MB allocated, workspace %d bytes for two calls, %.1f ms%n",
+                size, recursiveBytes / 1e6, workspaceBytes, elapsed / 1e6);
+        assertEquals(expected.distance, fromObjects.distance);
+        assertEquals(expected.distance, fromPointSet.distance);
+        assertTrue(workspaceBytes < 1024, "Expected no allocation, got " + workspaceBytes + " bytes");
+    }
+
     @Test
     @DisplayName("Edge case - minimum distance")
     void testMinimumDistance() {
@@ -362,13 +483,7 @@ public class ClosestPairPointsTest {
     }
 
     private Point2D[] generateRandomPoints(int size) {
-        Point2D[] points = new Point2D[size];
-        for (int i = 0; i < size; i++) {
-            double x = random.nextDouble() * 1000 - 500;
-            double y = random.nextDouble() * 1000 - 500;
-            points[i] = new Point2D(x, y);
-        }
-        return points;
+        return new WorkloadGenerator(WorkloadShape.UNIFORM, random.nextLong()).points(size);
     }
 
     private PointPair bruteForceClosestPair(Point2D[] points) {
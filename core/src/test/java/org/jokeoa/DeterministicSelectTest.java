@@ -184,6 +184,145 @@ public class DeterministicSelectTest {
 
         assertThrows(IllegalArgumentException.class, () ->
             DeterministicSelect.select(array, -1), "Should throw for negative k");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            DeterministicSelect.selectMany(array, new int[]{1, 6}), "Should throw for a rank > array length");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            DeterministicSelect.selectMany(array, null), "Should throw for null ranks");
+    }
+
+    @Test
+    @DisplayName("In-place selection does not allocate")
+    void testSelectInPlaceAllocation() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        int[] array = random.ints(200_000).toArray();
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+
+        SortContext context = new SortContext(array.clone());
+        DeterministicSelect.selectInPlace(context, 1000);
+
+        context = new SortContext(array.clone(), new SortMetrics());
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int result = DeterministicSelect.selectInPlace(context, 100_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        System.out.println("Median of 200000 in place: " + allocated + " bytes allocated");
+        assertEquals(sorted[99_999], result);
+        assertTrue(allocated < 1024, "Expected no per-level allocation, got " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("Low-cardinality inputs select in linear time")
+    void testDuplicateHeavyInputs() {
+        int size = 200_000;
+        WorkloadShape[] shapes = {WorkloadShape.ALL_IDENTICAL, WorkloadShape.FEW_UNIQUE, WorkloadShape.ZIPF};
+
+        for (WorkloadShape shape : shapes) {
+            int[] array = new WorkloadGenerator(shape, 42).ints(size);
+            int[] sorted = array.clone();
+            Arrays.sort(sorted);
+
+            SortMetrics metrics = new SortMetrics();
+            assertEquals(sorted[size / 2 - 1], DeterministicSelect.selectWithMetrics(array, size / 2, metrics));
+            assertEquals(sorted[size / 2 - 1], DeterministicSelect.select(array, size / 2));
+            System.out.println(shape + ": " + metrics.getTotalComparisons() + " comparisons for n=" + size);
+            assertTrue(metrics.getTotalComparisons() < 30L * size, shape + " should select in linear time");
+
+            int[] ranks = {1, size / 2, size};
+            int[] many = DeterministicSelect.selectMany(array, ranks);
+            for (int i = 0; i < ranks.length; i++) {
+                assertEquals(sorted[ranks[i] - 1], many[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Introselect matches a full sort on every workload shape")
+    void testIntroSelect() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] array = new WorkloadGenerator(shape, 42).ints(5000);
+            int[] sorted = array.clone();
+            Arrays.sort(sorted);
+
+            for (int k : new int[]{1, 17, 2500, 4999, 5000}) {
+                SortMetrics metrics = new SortMetrics();
+                assertEquals(sorted[k - 1], DeterministicSelect.introSelectWithMetrics(array, k, metrics),
+                        shape + ", k " + k);
+                assertEquals(sorted[k - 1], DeterministicSelect.introSelect(array, k));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () ->
+            DeterministicSelect.introSelect(new int[]{1, 2}, 3), "Should throw for k > array length");
+    }
+
+    @Test
+    @DisplayName("Introselect stays on the quickselect path for random data")
+    void testIntroSelectFastPath() {
+        int size = 100_000;
+        int[] array = random.ints(size).toArray();
+
+        SortMetrics intro = new SortMetrics();
+        SortMetrics deterministic = new SortMetrics();
+        DeterministicSelect.introSelectWithMetrics(array, size / 2, intro);
+        DeterministicSelect.selectWithMetrics(array, size / 2, deterministic);
+
+        System.out.println("Median of " + size + ": introselect " + intro.getTotalComparisons()
+                + " comparisons, median-of-medians " + deterministic.getTotalComparisons());
+
+        assertEquals(0, intro.getPivotFallbacks());
+        assertTrue(intro.getTotalComparisons() < deterministic.getTotalComparisons());
+    }
+
+    @Test
+    @DisplayName("Multi-rank selection matches a full sort")
+    void testSelectMany() {
+        int[] sizes = {1, 7, 100, 10_000};
+
+        for (int size : sizes) {
+            int[] array = random.ints(size, 0, size / 2 + 1).toArray();
+            int[] original = array.clone();
+            int[] sorted = array.clone();
+            Arrays.sort(sorted);
+
+            int[] ranks = {size, 1, (size + 1) / 2, (int) Math.ceil(0.99 * size), (size + 1) / 2};
+            int[] result = DeterministicSelect.selectMany(array, ranks);
+
+            for (int i = 0; i < ranks.length; i++) {
+                assertEquals(sorted[ranks[i] - 1], result[i], "size " + size + ", rank " + ranks[i]);
+            }
+            assertArrayEquals(original, array, "selectMany must not modify the input");
+
+            DeterministicSelect.selectManyInPlace(array, ranks);
+            for (int rank : ranks) {
+                assertEquals(sorted[rank - 1], array[rank - 1], "In-place mode leaves ranks in sorted position");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Multi-rank selection partitions once instead of per rank")
+    void testSelectManyMetrics() {
+        int size = 100_000;
+        int[] array = random.ints(size).toArray();
+        int[] ranks = {size / 2, size * 9 / 10, size * 95 / 100, size * 99 / 100, size * 999 / 1000};
+
+        SortMetrics many = new SortMetrics();
+        DeterministicSelect.selectManyWithMetrics(array, ranks, many);
+
+        long separate = 0;
+        SortMetrics single = new SortMetrics();
+        for (int rank : ranks) {
+            DeterministicSelect.selectWithMetrics(array, rank, single);
+            separate += single.getTotalComparisons();
+        }
+
+        System.out.println("5 percentiles of " + size + ": " + many.getTotalComparisons()
+                + " comparisons in one pass vs " + separate + " separately");
+        assertTrue(many.getTotalComparisons() < separate);
     }
 
     @Test
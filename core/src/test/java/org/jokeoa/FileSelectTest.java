@@ -0,0 +1,94 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class FileSelectTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("int percentiles with a small candidate budget")
+    void testIntPercentiles() throws Exception {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] data = new WorkloadGenerator(shape, 42).ints(200_000);
+            data[0] = Integer.MIN_VALUE;
+            data[1] = Integer.MAX_VALUE;
+            Path file = tempDir.resolve(shape + ".bin");
+            MappedFiles.writeInts(file, data);
+            int[] sorted = data.clone();
+            Arrays.sort(sorted);
+
+            long[] ranks = {1, 100_000, 180_000, 199_800, 200_000, 100_000};
+            FileSelect.Result result = FileSelect.select(file, ElementType.INT, ranks, 5000, new SortMetrics());
+
+            for (int i = 0; i < ranks.length; i++) {
+                assertEquals(sorted[(int) ranks[i] - 1], result.keys[i], shape + ", rank " + ranks[i]);
+            }
+            assertTrue(result.passes <= 3, shape + " took " + result.passes + " passes");
+        }
+    }
+
+    @Test
+    @DisplayName("long and double files narrow through several passes")
+    void testLongAndDouble() throws Exception {
+        long[] longs = new WorkloadGenerator(WorkloadShape.UNIFORM, 7).longs(100_000);
+        double[] doubles = new WorkloadGenerator(WorkloadShape.CLUSTERED, 7).doubles(100_000);
+        longs[0] = Long.MIN_VALUE;
+        doubles[0] = -0.0;
+        doubles[1] = 0.0;
+        doubles[2] = Double.NEGATIVE_INFINITY;
+        Path longFile = tempDir.resolve("longs.bin");
+        Path doubleFile = tempDir.resolve("doubles.bin");
+        MappedFiles.writeLongs(longFile, longs);
+        MappedFiles.writeDoubles(doubleFile, doubles);
+        Arrays.sort(longs);
+        Arrays.sort(doubles);
+
+        for (long k : new long[]{1, 2, 3, 50_000, 99_999, 100_000}) {
+            assertEquals(longs[(int) k - 1], FileSelect.selectKey(longFile, ElementType.LONG, k, 1000, null));
+            long key = FileSelect.selectKey(doubleFile, ElementType.DOUBLE, k, 1000, null);
+            assertEquals(doubles[(int) k - 1], ElementType.fromSortableKey(key));
+        }
+
+        FileSelect.Result result = FileSelect.select(longFile, ElementType.LONG, new long[]{50_000}, 1000, null);
+        System.out.println("Median of 100000 longs with 1000 candidates: " + result.passes + " passes");
+    }
+
+    @Test
+    @DisplayName("Identical keys resolve without collecting")
+    void testAllIdentical() throws Exception {
+        Path file = tempDir.resolve("same.bin");
+        MappedFiles.writeLongs(file, 50_000, () -> 7L);
+
+        FileSelect.Result result = FileSelect.select(file, ElementType.LONG, new long[]{25_000}, 100, null);
+
+        assertEquals(7L, result.keys[0]);
+        assertEquals(4, result.passes);
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() throws Exception {
+        Path file = tempDir.resolve("in.bin");
+        MappedFiles.writeInts(file, new int[]{3, 1, 2});
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FileSelect.selectKey(file, ElementType.INT, 4, 10, null), "Should throw for k > n");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FileSelect.selectKey(file, ElementType.INT, 0, 10, null), "Should throw for k = 0");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FileSelect.select(file, ElementType.INT, new long[0], 10, null), "Should throw for no ranks");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FileSelect.selectKey(file, ElementType.INT, 1, 0, null), "Should throw for an empty budget");
+    }
+}
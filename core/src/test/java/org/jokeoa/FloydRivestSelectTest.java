@@ -0,0 +1,104 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class FloydRivestSelectTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Small arrays")
+    void testSmallArrays() {
+        assertEquals(42, FloydRivestSelect.select(new int[]{42}, 1));
+        assertEquals(1, FloydRivestSelect.select(new int[]{2, 1}, 1));
+        assertEquals(90, FloydRivestSelect.select(new int[]{64, 34, 25, 12, 22, 11, 90}, 7));
+        assertEquals(25, FloydRivestSelect.select(new int[]{64, 34, 25, 12, 22, 11, 90}, 4));
+    }
+
+    @Test
+    @DisplayName("Matches a full sort on every workload shape")
+    void testWorkloadShapes() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] array = new WorkloadGenerator(shape, 42).ints(20_000);
+            int[] original = array.clone();
+            int[] sorted = array.clone();
+            Arrays.sort(sorted);
+
+            for (int k : new int[]{1, 2, 200, 10_000, 19_999, 20_000}) {
+                assertEquals(sorted[k - 1], FloydRivestSelect.select(array, k), shape + ", k " + k);
+            }
+            assertArrayEquals(original, array, "select must not modify the input");
+        }
+    }
+
+    @Test
+    @DisplayName("In-place selection partitions around k")
+    void testSelectInPlace() {
+        int[] array = random.ints(50_000, -1000, 1000).toArray();
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+
+        int k = 12_345;
+        int result = FloydRivestSelect.selectInPlace(new SortContext(array), k);
+
+        assertEquals(sorted[k - 1], result);
+        assertEquals(result, array[k - 1]);
+        for (int i = 0; i < k - 1; i++) {
+            assertTrue(array[i] <= result);
+        }
+        for (int i = k; i < array.length; i++) {
+            assertTrue(array[i] >= result);
+        }
+    }
+
+    @Test
+    @DisplayName("Comparisons close to n + min(k, n - k)")
+    void testComparisonCount() {
+        int size = 1_000_000;
+        int[] array = random.ints(size).toArray();
+
+        for (int k : new int[]{size / 2, size / 100}) {
+            SortMetrics floydRivest = new SortMetrics();
+            SortMetrics intro = new SortMetrics();
+            FloydRivestSelect.selectWithMetrics(array, k, floydRivest);
+            DeterministicSelect.introSelectWithMetrics(array, k, intro);
+
+            double bound = size + Math.min(k, size - k);
+            System.out.printf("k=%d: Floyd-Rivest %d comparisons (%.3f of n + min(k, n-k)), introselect %d%n",
+                    k, floydRivest.getTotalComparisons(), floydRivest.getTotalComparisons() / bound,
+                    intro.getTotalComparisons());
+
+            assertTrue(floydRivest.getTotalComparisons() < 1.15 * bound);
+            assertTrue(floydRivest.getTotalComparisons() < intro.getTotalComparisons());
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        int[] array = {1, 2, 3, 4, 5};
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FloydRivestSelect.select(null, 1), "Should throw for null array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FloydRivestSelect.select(new int[]{}, 1), "Should throw for empty array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FloydRivestSelect.select(array, 0), "Should throw for k=0");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            FloydRivestSelect.selectWithMetrics(array, 6, new SortMetrics()), "Should throw for k > array length");
+    }
+}
@@ -0,0 +1,191 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class KllSketchTest {
+
+    private static final double[] QUANTILES = {0.001, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Rank error against DeterministicSelect shrinks with k")
+    void testRankError() {
+        int size = 1_000_000;
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] data = new WorkloadGenerator(shape, 42).ints(size);
+            for (int k : new int[]{50, 200, 800}) {
+                KllSketch sketch = KllSketch.ofLongs(k, 42);
+                for (int value : data) {
+                    sketch.addLong(value);
+                }
+
+                double error = maxRankError(sketch, data);
+                System.out.printf("%-14s k=%4d: retained %5d, max rank error %.5f (%.2f / k)%n",
+                        shape, k, sketch.retained(), error, error * k);
+
+                assertEquals(size, sketch.getN());
+                // 3k for the geometric capacities plus the minimum capacity of each lower level
+                assertTrue(sketch.retained() <= 3 * k + 8 * 20, shape + ", k " + k);
+                assertTrue(error < 4.0 / k, shape + ", k " + k + ": " + error);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Merged sketches of parallel workers keep the error bound")
+    void testMergeParallelWorkers() {
+        int size = 2_000_000;
+        int workers = 8;
+        int k = KllSketch.DEFAULT_K;
+        int[] data = random.ints(size).toArray();
+
+        KllSketch merged = IntStream.range(0, workers).parallel()
+                .mapToObj(worker -> {
+                    KllSketch sketch = KllSketch.ofLongs(k, worker);
+                    for (int i = worker; i < size; i += workers) {
+                        sketch.addLong(data[i]);
+                    }
+                    return sketch;
+                })
+                .reduce(KllSketch::merge)
+                .orElseThrow();
+
+        double error = maxRankError(merged, data);
+        System.out.printf("%d merged sketches, k=%d: retained %d, max rank error %.5f%n",
+                workers, k, merged.retained(), error);
+
+        assertEquals(size, merged.getN());
+        assertTrue(merged.retained() < 4 * k);
+        assertTrue(error < 4.0 / k);
+    }
+
+    @Test
+    @DisplayName("ByteBuffer round trip preserves every answer")
+    void testSerialization() {
+        KllSketch sketch = KllSketch.ofDoubles(100, 42);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.addDouble(random.nextGaussian());
+        }
+        sketch.addDouble(Double.NEGATIVE_INFINITY);
+
+        ByteBuffer buffer = sketch.toByteBuffer();
+        int bytes = buffer.remaining();
+        KllSketch copy = KllSketch.fromByteBuffer(buffer);
+
+        assertEquals(0, buffer.remaining(), "reading must consume the sketch");
+        assertTrue(bytes < 64 + 12 * sketch.retained(), "serialized size " + bytes);
+        assertEquals(sketch.getN(), copy.getN());
+        assertEquals(sketch.retained(), copy.retained());
+        assertEquals(Double.NEGATIVE_INFINITY, copy.quantileDouble(0));
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantileDouble(q), copy.quantileDouble(q));
+        }
+        assertEquals(sketch.rankDouble(0.0), copy.rankDouble(0.0));
+        assertEquals(0.5, copy.rankDouble(0), 0.02);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            KllSketch.fromByteBuffer(ByteBuffer.allocate(64)), "Should throw for foreign data");
+    }
+
+    @Test
+    @DisplayName("Small streams are exact")
+    void testSmallStreamExact() {
+        KllSketch sketch = KllSketch.ofLongs(KllSketch.DEFAULT_K);
+        long[] values = {5, -3, 12, 7, 7, 0, 100};
+        for (long value : values) {
+            sketch.addLong(value);
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(values.length, sketch.retained());
+        assertEquals(-3, sketch.quantile(0));
+        assertEquals(100, sketch.quantile(1));
+        assertEquals(sorted[3], sketch.quantile(0.5));
+        assertEquals(5.0 / 7, sketch.rank(7), 1e-12);
+
+        KllSketch doubles = KllSketch.ofDoubles(KllSketch.DEFAULT_K);
+        for (int value = 1; value <= 10; value++) {
+            doubles.addDouble(value);
+        }
+        assertEquals(0.5, doubles.rankDouble(5), 1e-12, "int arguments widen to the double mode");
+    }
+
+    @Test
+    @DisplayName("Seeded sketches are reproducible")
+    void testSeededReproducible() {
+        int[] data = random.ints(200_000).toArray();
+        KllSketch first = KllSketch.ofDoubles(50, 7);
+        KllSketch second = KllSketch.ofDoubles(50, 7);
+        for (int value : data) {
+            first.addDouble(value);
+            second.addDouble(value);
+        }
+
+        assertEquals(first.toByteBuffer(), second.toByteBuffer());
+        for (double q : QUANTILES) {
+            assertEquals(first.quantileDouble(q), second.quantileDouble(q));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            KllSketch.ofLongs(1), "Should throw for k below the minimum");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            KllSketch.ofLongs(100).quantile(0.5), "Should throw for query on empty sketch");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            KllSketch.ofLongs(100).merge(KllSketch.ofLongs(200)), "Should throw for merging different k");
+
+        assertThrows(IllegalStateException.class, () ->
+            KllSketch.ofDoubles(100).addLong(1), "Should throw for long into a double sketch");
+    }
+
+    /**
+     * Largest distance, as a fraction of n, between the rank of the sketch's answer and the
+     * target rank whose exact value DeterministicSelect returns
+     */
+    private static double maxRankError(KllSketch sketch, int[] data) {
+        int n = data.length;
+        double worst = 0;
+        for (double q : QUANTILES) {
+            int target = (int) Math.max(1, Math.ceil(q * n));
+            int exact = DeterministicSelect.select(data, target);
+            long estimate = sketch.quantile(q);
+
+            long distance = 0;
+            if (estimate != exact) {
+                long less = 0;
+                long lessOrEqual = 0;
+                for (int value : data) {
+                    if (value < estimate) {
+                        less++;
+                    }
+                    if (value <= estimate) {
+                        lessOrEqual++;
+                    }
+                }
+                distance = estimate > exact ? Math.max(0, less + 1 - target) : Math.max(0, target - lessOrEqual);
+            }
+            worst = Math.max(worst, (double) distance / n);
+        }
+        return worst;
+    }
+}
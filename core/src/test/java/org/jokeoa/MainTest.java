@@ -0,0 +1,146 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MainTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Sort int file in memory with every algorithm")
+    void testSortInMemory() throws Exception {
+        int[] data = new WorkloadGenerator(WorkloadShape.UNIFORM, 42).ints(2000);
+        Path input = tempDir.resolve("in.bin");
+        MappedFiles.writeInts(input, data);
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+
+        for (String algorithm : new String[]{"merge", "quick", "insertion", "jdk"}) {
+            Path output = tempDir.resolve(algorithm + ".bin");
+            String json = Main.run(new String[]{"sort", "--algorithm", algorithm, input.toString(), output.toString()});
+
+            assertArrayEquals(expected, MappedFiles.readInts(output, 0, expected.length), algorithm);
+            assertTrue(json.contains("\"runs\":1"), json);
+            assertTrue(json.contains("\"algorithm\":\"" + algorithm + "\""), json);
+        }
+    }
+
+    @Test
+    @DisplayName("External sort merges runs when the input exceeds the chunk size")
+    void testExternalSort() throws Exception {
+        int[] data = new WorkloadGenerator(WorkloadShape.FEW_UNIQUE, 42, 100).ints(10_007);
+        Path input = tempDir.resolve("in.bin");
+        Path output = tempDir.resolve("out.bin");
+        MappedFiles.writeInts(input, data);
+
+        String json = Main.run(new String[]{"sort", "--algorithm", "quick", "--chunk", "1000",
+                input.toString(), output.toString()});
+
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, MappedFiles.readInts(output, 0, expected.length));
+        assertTrue(json.contains("\"runs\":11"), json);
+    }
+
+    @Test
+    @DisplayName("Long and double files sort with the JDK algorithm")
+    void testSortLongAndDouble() throws Exception {
+        long[] longs = new WorkloadGenerator(WorkloadShape.UNIFORM, 1).longs(3000);
+        double[] doubles = new WorkloadGenerator(WorkloadShape.CLUSTERED, 1).doubles(3000);
+        doubles[0] = -0.0;
+        doubles[1] = 0.0;
+        doubles[2] = Double.NEGATIVE_INFINITY;
+
+        Path longIn = tempDir.resolve("longs.bin");
+        Path doubleIn = tempDir.resolve("doubles.bin");
+        MappedFiles.writeLongs(longIn, longs);
+        MappedFiles.writeDoubles(doubleIn, doubles);
+
+        Main.run(new String[]{"sort", "--type", "long", "--algorithm", "jdk", "--chunk", "700",
+                longIn.toString(), tempDir.resolve("longs.out").toString()});
+        Main.run(new String[]{"sort", "--type", "double", "--algorithm", "jdk", "--chunk", "700",
+                doubleIn.toString(), tempDir.resolve("doubles.out").toString()});
+
+        Arrays.sort(longs);
+        Arrays.sort(doubles);
+        assertArrayEquals(longs, MappedFiles.readLongs(tempDir.resolve("longs.out"), 0, longs.length));
+        assertArrayEquals(doubles, MappedFiles.readDoubles(tempDir.resolve("doubles.out"), 0, doubles.length));
+    }
+
+    @Test
+    @DisplayName("select-kth and percentiles")
+    void testSelectAndPercentiles() throws Exception {
+        int[] data = new WorkloadGenerator(WorkloadShape.UNIFORM, 42).ints(1000);
+        Path input = tempDir.resolve("in.bin");
+        MappedFiles.writeInts(input, data);
+        int[] sorted = data.clone();
+        Arrays.sort(sorted);
+
+        String kth = Main.run(new String[]{"select-kth", "--k", "250", input.toString()});
+        assertTrue(kth.contains("\"rank\":250,\"value\":" + sorted[249] + "}"), kth);
+
+        String percentiles = Main.run(new String[]{"percentiles", "--p", "50,99", input.toString()});
+        assertTrue(percentiles.contains("{\"percentile\":50.0,\"rank\":500,\"value\":" + sorted[499] + "}"), percentiles);
+        assertTrue(percentiles.contains("{\"percentile\":99.0,\"rank\":990,\"value\":" + sorted[989] + "}"), percentiles);
+
+        String budgeted = Main.run(new String[]{"percentiles", "--p", "50,99", "--candidates", "100", input.toString()});
+        assertTrue(budgeted.contains("{\"percentile\":99.0,\"rank\":990,\"value\":" + sorted[989] + "}"), budgeted);
+
+        double[] doubles = {3.5, -1.0, 2.25, 8.0};
+        Path doubleIn = tempDir.resolve("doubles.bin");
+        MappedFiles.writeDoubles(doubleIn, doubles);
+        String median = Main.run(new String[]{"select-kth", "--type", "double", "--k", "2", doubleIn.toString()});
+        assertTrue(median.contains("\"value\":2.25"), median);
+    }
+
+    @Test
+    @DisplayName("closest-pair over a point file")
+    void testClosestPair() throws Exception {
+        Point2D[] points = new WorkloadGenerator(WorkloadShape.UNIFORM, 42).points(500);
+        Path input = tempDir.resolve("points.bin");
+        new WorkloadGenerator(WorkloadShape.UNIFORM, 42).writePoints(input, 500);
+
+        String json = Main.run(new String[]{"closest-pair", input.toString()});
+
+        PointPair expected = ClosestPairPoints.findClosestPair(points);
+        assertTrue(json.contains("\"distance\":" + expected.distance), json);
+
+        // 2^31 doubles (sparse, nothing is written): too large for the interleaved array
+        Path huge = tempDir.resolve("huge.bin");
+        try (RandomAccessFile file = new RandomAccessFile(huge.toFile(), "rw")) {
+            file.setLength((long) Double.BYTES << 31);
+        }
+        IllegalArgumentException tooMany = assertThrows(IllegalArgumentException.class, () ->
+            Main.run(new String[]{"closest-pair", huge.toString()}), "Should throw for more doubles than an array holds");
+        assertTrue(tooMany.getMessage().contains("at most 1073741819 points"), tooMany.getMessage());
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() throws Exception {
+        Path input = tempDir.resolve("in.bin");
+        MappedFiles.writeLongs(input, new long[]{3, 1, 2});
+
+        assertThrows(IllegalArgumentException.class, () ->
+            Main.run(new String[]{}), "Should throw for missing command");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            Main.run(new String[]{"shuffle", input.toString()}), "Should throw for unknown command");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            Main.run(new String[]{"sort", "--type", "long", "--algorithm", "quick", input.toString(),
+                    tempDir.resolve("out.bin").toString()}), "Should throw for int-only algorithm on longs");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            Main.run(new String[]{"select-kth", "--type", "long", "--k", "4", input.toString()}),
+            "Should throw for k > n");
+    }
+}
@@ -0,0 +1,124 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsExporterTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Registry aggregates runs per algorithm")
+    void testRegistryAggregation() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        SortMetrics first = QuickSort.sortWithMetrics(generateRandomArray(500));
+        SortMetrics second = QuickSort.sortWithMetrics(generateRandomArray(500));
+        registry.record("quick_sort", 500, first);
+        registry.record("quick_sort", 500, second);
+
+        List<MetricsRegistry.AlgorithmSnapshot> snapshots = registry.snapshot();
+        assertEquals(1, snapshots.size());
+
+        MetricsRegistry.AlgorithmSnapshot snapshot = snapshots.get(0);
+        assertEquals(2, snapshot.runs);
+        assertEquals(1000, snapshot.elements);
+        assertEquals((long) first.getTotalComparisons() + second.getTotalComparisons(), snapshot.comparisons);
+        assertEquals(Math.max(first.getMaxRecursionDepth(), second.getMaxRecursionDepth()),
+                snapshot.maxRecursionDepth);
+    }
+
+    @Test
+    @DisplayName("Concurrent recording keeps exact totals")
+    void testConcurrentRecording() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    registry.record("merge_sort", 10, new SortMetrics());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, registry.snapshot().get(0).runs);
+        assertEquals(10000, registry.snapshot().get(0).elements);
+    }
+
+    @Test
+    @DisplayName("Prometheus and JSON endpoints on localhost")
+    void testEndpoints() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        int[] array = generateRandomArray(1000);
+        SortMetrics sortMetrics = MergeSort.sortWithMetrics(array);
+        registry.record("merge_sort", array.length, sortMetrics);
+
+        SortMetrics selectMetrics = new SortMetrics();
+        DeterministicSelect.selectWithMetrics(generateRandomArray(1000), 500, selectMetrics);
+        registry.record("deterministic_select", 1000, selectMetrics);
+
+        try (MetricsExporter exporter = MetricsExporter.start(registry, 0)) {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + exporter.getPort();
+
+            HttpResponse<String> text = client.send(HttpRequest.newBuilder(URI.create(base + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, text.statusCode());
+            assertTrue(text.body().contains("# TYPE jokeoa_algorithm_comparisons_total counter"));
+            assertTrue(text.body().contains("jokeoa_algorithm_runs_total{algorithm=\"merge_sort\"} 1"));
+            assertTrue(text.body().contains("jokeoa_algorithm_comparisons_total{algorithm=\"deterministic_select\"} "
+                    + selectMetrics.getTotalComparisons()));
+            assertTrue(text.body().contains("jokeoa_algorithm_latency_seconds_bucket{algorithm=\"merge_sort\",le=\"+Inf\"} 1"));
+
+            HttpResponse<String> json = client.send(HttpRequest.newBuilder(URI.create(base + "/metrics.json")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, json.statusCode());
+            assertTrue(json.body().startsWith("[{\"algorithm\":\"deterministic_select\""));
+            assertTrue(json.body().contains("\"maxRecursionDepth\":" + sortMetrics.getMaxRecursionDepth()));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            registry.record(null, 1, new SortMetrics()), "Should throw for missing algorithm name");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            registry.record("quick_sort", 1, null), "Should throw for missing metrics");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            MetricsExporter.start(null, 0), "Should throw for missing registry");
+    }
+
+    private int[] generateRandomArray(int size) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(size * 2) - size;
+        }
+        return array;
+    }
+}
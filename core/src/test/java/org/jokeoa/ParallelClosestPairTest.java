@@ -0,0 +1,98 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelClosestPairTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Matches the sequential workspace on every workload shape")
+    void testWorkloadShapes() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ClosestPairWorkspace workspace = new ClosestPairWorkspace(100_000);
+            for (WorkloadShape shape : WorkloadShape.values()) {
+                Point2D[] points = new WorkloadGenerator(shape, 42).points(100_000);
+                PointPair expected = workspace.findClosestPair(points);
+
+                PointPair result = ParallelClosestPair.findClosestPair(points, pool);
+                assertEquals(expected.distance, result.distance, shape.name());
+                assertEquals(expected.distance, result.point1.distanceTo(result.point2), shape.name());
+                assertEquals(expected.distance, ParallelClosestPair.findClosestPair(PointSet.of(points), pool).distance,
+                        shape.name());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Many points sharing x and y coordinates")
+    void testSharedCoordinates() {
+        Point2D[] points = new Point2D[200_000];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point2D(random.nextInt(50), random.nextInt(1_000_000) * 0.5);
+        }
+        PointPair expected = new ClosestPairWorkspace(points.length).findClosestPair(points);
+
+        assertEquals(expected.distance, ParallelClosestPair.findClosestPair(points).distance);
+    }
+
+    @Test
+    @DisplayName("Points crowding the split line produce wide strips")
+    void testWideStrips() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Point2D[] points = new Point2D[100_000];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = new Point2D(random.nextInt(3) * 1e-9, random.nextDouble() * 1e6);
+            }
+            PointPair expected = new ClosestPairWorkspace(points.length).findClosestPair(points);
+
+            assertEquals(expected.distance, ParallelClosestPair.findClosestPair(points, pool).distance);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Small inputs fall back to the sequential search")
+    void testSmallInputs() {
+        Point2D[] two = {new Point2D(0, 0), new Point2D(3, 4)};
+        assertEquals(5.0, ParallelClosestPair.findClosestPair(two).distance);
+
+        Point2D[] negative = {
+            new Point2D(-5, -5),
+            new Point2D(-3, -4),
+            new Point2D(1, 2),
+            new Point2D(0, 0)
+        };
+        assertEquals(Math.sqrt(5), ParallelClosestPair.findClosestPair(negative).distance, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelClosestPair.findClosestPair((Point2D[]) null), "Should throw for null points");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelClosestPair.findClosestPair(new Point2D[]{new Point2D(1, 1)}), "Should throw for single point");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelClosestPair.findClosestPair(new PointSet(new double[]{1}, new double[]{1}), ForkJoinPool.commonPool()),
+            "Should throw for single point set");
+    }
+}
@@ -0,0 +1,89 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelSelectTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Matches a full sort on every workload shape")
+    void testWorkloadShapes() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (WorkloadShape shape : WorkloadShape.values()) {
+                int[] array = new WorkloadGenerator(shape, 42).ints(1_000_000);
+                int[] original = array.clone();
+                int[] sorted = array.clone();
+                Arrays.sort(sorted);
+
+                for (int k : new int[]{1, 1000, 500_000, 999_999, 1_000_000}) {
+                    assertEquals(sorted[k - 1], ParallelSelect.select(array, k, pool), shape + ", k " + k);
+                }
+                assertArrayEquals(original, array, "select must not modify the input");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Two-valued input still makes progress")
+    void testTwoValues() {
+        int[] array = random.ints(2_000_000, 0, 2).toArray();
+        int zeros = (int) Arrays.stream(array).filter(value -> value == 0).count();
+
+        assertEquals(0, ParallelSelect.select(array, zeros));
+        assertEquals(1, ParallelSelect.select(array, zeros + 1));
+    }
+
+    @Test
+    @DisplayName("In-place mode and metrics")
+    void testInPlaceAndMetrics() {
+        int size = 3_000_000;
+        int[] array = random.ints(size).toArray();
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+
+        SortMetrics metrics = new SortMetrics();
+        assertEquals(sorted[size / 2], ParallelSelect.selectWithMetrics(array, size / 2 + 1, metrics));
+        System.out.println("Parallel median of " + size + ": " + metrics.getPartitionCalls() + " partitions, "
+                + metrics.getTotalComparisons() + " comparisons, " + metrics.getExecutionTimeMs() + " ms");
+        assertTrue(metrics.getPartitionCalls() > 0);
+        assertTrue(metrics.getTotalComparisons() < 2L * size);
+
+        assertEquals(sorted[10], ParallelSelect.selectInPlace(array, 11, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    @DisplayName("Small arrays fall back to sequential selection")
+    void testSmallArrays() {
+        assertEquals(42, ParallelSelect.select(new int[]{42}, 1));
+        assertEquals(25, ParallelSelect.select(new int[]{64, 34, 25, 12, 22, 11, 90}, 4));
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelSelect.select(null, 1), "Should throw for null array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelSelect.select(new int[]{}, 1), "Should throw for empty array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelSelect.select(new int[]{1, 2, 3}, 4), "Should throw for k > array length");
+    }
+}
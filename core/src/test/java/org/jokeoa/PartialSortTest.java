@@ -0,0 +1,153 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PartialSortTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("int prefix matches a full sort")
+    void testIntPartialSort() {
+        for (int size : new int[]{1, 2, 10, 100, 5000}) {
+            int[] array = random.ints(size, -1000, 1000).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+
+            for (int k : new int[]{0, 1, size / 3, size - 1, size}) {
+                int[] work = array.clone();
+                PartialSort.partialSort(work, k);
+                assertArrayEquals(Arrays.copyOf(expected, k), Arrays.copyOf(work, k), "size " + size + ", k " + k);
+
+                int[] rest = Arrays.copyOfRange(work, k, size);
+                Arrays.sort(rest);
+                assertArrayEquals(Arrays.copyOfRange(expected, k, size), rest, "Suffix must keep the other elements");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Smallest and largest do not modify the input")
+    void testSmallestAndLargest() {
+        int[] ints = new WorkloadGenerator(WorkloadShape.FEW_UNIQUE, 42).ints(3000);
+        long[] longs = new WorkloadGenerator(WorkloadShape.ZIPF, 42).longs(3000);
+        double[] doubles = new WorkloadGenerator(WorkloadShape.CLUSTERED, 42).doubles(3000);
+        int[] intsCopy = ints.clone();
+        long[] longsCopy = longs.clone();
+        double[] doublesCopy = doubles.clone();
+
+        int[] sortedInts = ints.clone();
+        long[] sortedLongs = longs.clone();
+        double[] sortedDoubles = doubles.clone();
+        Arrays.sort(sortedInts);
+        Arrays.sort(sortedLongs);
+        Arrays.sort(sortedDoubles);
+
+        int k = 100;
+        assertArrayEquals(Arrays.copyOf(sortedInts, k), PartialSort.smallest(ints, k));
+        assertArrayEquals(Arrays.copyOf(sortedLongs, k), PartialSort.smallest(longs, k));
+        assertArrayEquals(Arrays.copyOf(sortedDoubles, k), PartialSort.smallest(doubles, k));
+
+        for (int i = 0; i < k; i++) {
+            assertEquals(sortedInts[ints.length - 1 - i], PartialSort.largest(ints, k)[i]);
+            assertEquals(sortedLongs[longs.length - 1 - i], PartialSort.largest(longs, k)[i]);
+            assertEquals(sortedDoubles[doubles.length - 1 - i], PartialSort.largest(doubles, k)[i]);
+        }
+
+        assertArrayEquals(intsCopy, ints);
+        assertArrayEquals(longsCopy, longs);
+        assertArrayEquals(doublesCopy, doubles);
+    }
+
+    @Test
+    @DisplayName("long and double prefixes match a full sort")
+    void testLongAndDouble() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            long[] longs = new WorkloadGenerator(shape, 7).longs(2000);
+            double[] doubles = new WorkloadGenerator(shape, 7).doubles(2000);
+            doubles[0] = Double.NaN;
+            doubles[1] = -0.0;
+            doubles[2] = 0.0;
+
+            long[] expectedLongs = longs.clone();
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedLongs);
+            Arrays.sort(expectedDoubles);
+
+            for (int k : new int[]{0, 1, 500, 2000}) {
+                long[] workLongs = longs.clone();
+                double[] workDoubles = doubles.clone();
+                PartialSort.partialSort(workLongs, k);
+                PartialSort.partialSort(workDoubles, k);
+                assertArrayEquals(Arrays.copyOf(expectedLongs, k), Arrays.copyOf(workLongs, k), shape + ", k " + k);
+                assertArrayEquals(Arrays.copyOf(expectedDoubles, k), Arrays.copyOf(workDoubles, k), shape + ", k " + k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Partial sort compares less than a full sort")
+    void testMetrics() {
+        int size = 50_000;
+        int[] array = random.ints(size).toArray();
+        long[] longs = random.longs(size).toArray();
+
+        SortMetrics partial = PartialSort.partialSortWithMetrics(array.clone(), 100);
+        SortMetrics full = QuickSort.sortWithMetrics(array.clone());
+        SortMetrics partialLongs = PartialSort.partialSortWithMetrics(longs, 100);
+
+        System.out.println("Top 100 of " + size + ": " + partial.getTotalComparisons()
+                + " comparisons (int), " + partialLongs.getTotalComparisons() + " (long), full sort " + full.getTotalComparisons());
+
+        assertTrue(partial.getTotalComparisons() < full.getTotalComparisons());
+        assertTrue(partialLongs.getTotalComparisons() < 10L * size, "Expected linear comparisons for long selection");
+        assertTrue(partialLongs.getPartitionCalls() > 0);
+    }
+
+    @Test
+    @DisplayName("Duplicate-heavy int prefixes stay near-linearithmic")
+    void testDuplicateHeavyInts() {
+        int size = 200_000;
+        for (WorkloadShape shape : new WorkloadShape[]{WorkloadShape.ALL_IDENTICAL, WorkloadShape.FEW_UNIQUE}) {
+            int[] input = new WorkloadGenerator(shape, 42).ints(size);
+            int[] sorted = input.clone();
+            Arrays.sort(sorted);
+
+            for (int k : new int[]{size / 2, size}) {
+                int[] array = input.clone();
+                SortMetrics metrics = PartialSort.partialSortWithMetrics(array, k);
+                System.out.println(shape + ", top " + k + " of " + size + ": " + metrics.getTotalComparisons() + " comparisons");
+
+                assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(array, k), shape + ", k " + k);
+                assertTrue(metrics.getTotalComparisons() < 10L * size, shape + ", k " + k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            PartialSort.partialSort((int[]) null, 0), "Should throw for null array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            PartialSort.partialSort(new int[]{1, 2, 3}, 4), "Should throw for k > n");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            PartialSort.smallest(new long[]{1, 2, 3}, -1), "Should throw for negative k");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            PartialSort.largest(new double[0], 1), "Should throw for k > n on empty array");
+    }
+}
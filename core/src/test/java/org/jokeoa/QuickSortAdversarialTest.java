@@ -63,7 +63,7 @@ public class QuickSortAdversarialTest {
     @Test
     @DisplayName("Organ pipe pattern - decreasing, then increasing")
     void testOrganPipePattern() {
-        int[] array = generateOrganPipeArray(200);
+        int[] array = new WorkloadGenerator(WorkloadShape.ORGAN_PIPE, 42).ints(200);
 
         SortMetrics metrics = QuickSort.sortWithMetrics(array);
 
@@ -78,7 +78,7 @@ public class QuickSortAdversarialTest {
     @Test
     @DisplayName("Many repeating values - stability test")
     void testManyDuplicatesStability() {
-        int[] array = generateArrayWithFewUniqueValues(1000, 10);
+        int[] array = new WorkloadGenerator(WorkloadShape.FEW_UNIQUE, 42, 10).ints(1000);
 
         SortMetrics metrics = QuickSort.sortWithMetrics(array);
 
@@ -168,34 +168,6 @@ public class QuickSortAdversarialTest {
         return array;
     }
 
-    private int[] generateOrganPipeArray(int size) {
-        int[] array = new int[size];
-        int mid = size / 2;
-
-        // Decreasing to middle
-        for (int i = 0; i < mid; i++) {
-            array[i] = mid - i;
-        }
-
-        // Increasing from middle
-        for (int i = mid; i < size; i++) {
-            array[i] = i - mid + 1;
-        }
-
-        return array;
-    }
-
-    private int[] generateArrayWithFewUniqueValues(int size, int uniqueCount) {
-        int[] array = new int[size];
-        java.util.Random random = new java.util.Random(42);
-
-        for (int i = 0; i < size; i++) {
-            array[i] = random.nextInt(uniqueCount);
-        }
-
-        return array;
-    }
-
     private int[] createBadPivotArray(int size) {
         int[] array = new int[size];
 
@@ -0,0 +1,116 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class RankIndexTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Matches a full sort on every workload shape")
+    void testWorkloadShapes() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] array = new WorkloadGenerator(shape, 42).ints(20_000);
+            int[] original = array.clone();
+            int[] sorted = array.clone();
+            Arrays.sort(sorted);
+
+            RankIndex index = new RankIndex(array);
+            for (int query = 0; query < 500; query++) {
+                int k = 1 + random.nextInt(array.length);
+                assertEquals(sorted[k - 1], index.select(k), shape + ", k " + k);
+            }
+            assertEquals(sorted[0], index.select(1));
+            assertEquals(sorted[sorted.length - 1], index.select(sorted.length));
+            assertArrayEquals(original, array, "the index must work on its own copy");
+        }
+    }
+
+    @Test
+    @DisplayName("Later queries only partition the gap around k")
+    void testQueriesGetCheaper() {
+        int size = 1_000_000;
+        int[] array = random.ints(size).toArray();
+        RankIndex index = new RankIndex(array);
+        SortMetrics metrics = new SortMetrics();
+
+        index.selectWithMetrics(size / 2, metrics);
+        long first = metrics.getTotalComparisons();
+
+        long later = 0;
+        int queries = 1000;
+        for (int query = 0; query < queries; query++) {
+            index.selectWithMetrics(1 + random.nextInt(size), metrics);
+            later += metrics.getTotalComparisons();
+        }
+        System.out.println("Rank index over " + size + ": first query " + first + " comparisons, next "
+                + queries + " queries " + later / queries + " on average, " + index.fixedCount() + " positions fixed");
+
+        assertTrue(first >= size);
+        assertTrue(later / queries < first / 20);
+
+        index.selectWithMetrics(size / 2, metrics);
+        assertEquals(0, metrics.getTotalComparisons(), "a known position costs nothing");
+    }
+
+    @Test
+    @DisplayName("Querying every rank converges to a sorted array")
+    void testConvergesToSorted() {
+        int[] array = random.ints(5_000, -50, 50).toArray();
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+
+        RankIndex index = new RankIndex(array);
+        assertFalse(index.isFullySorted());
+        for (int k = array.length; k >= 1; k--) {
+            assertEquals(sorted[k - 1], index.select(k));
+        }
+        assertTrue(index.isFullySorted());
+        assertEquals(array.length, index.fixedCount());
+    }
+
+    @Test
+    @DisplayName("Queries follow the comparator's order")
+    void testComparator() {
+        int[] array = random.ints(20_000, -1000, 1000).toArray();
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+
+        RankIndex index = new RankIndex(array, (a, b) -> Integer.compare(b, a));
+        for (int k : new int[]{1, 2, 10_000, 19_999, 20_000}) {
+            assertEquals(sorted[array.length - k], index.select(k), "k " + k);
+        }
+        for (int k = 1; k <= array.length; k += 97) {
+            assertEquals(sorted[array.length - k], index.select(k), "k " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        RankIndex index = new RankIndex(new int[]{3, 1, 2});
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new RankIndex(null), "Should throw for null array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new RankIndex(new int[]{}), "Should throw for empty array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            index.select(0), "Should throw for k=0");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            index.select(4), "Should throw for k > array length");
+    }
+}
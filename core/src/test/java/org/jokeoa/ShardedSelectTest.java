@@ -0,0 +1,122 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ShardedSelectTest {
+
+    private Random random;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Matches a full sort of the union on every workload shape")
+    void testWorkloadShapes() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            WorkloadGenerator generator = new WorkloadGenerator(shape, 42);
+            List<int[]> shards = new ArrayList<>();
+            for (int size : new int[]{10_000, 1, 0, 25_000, 4_000}) {
+                shards.add(generator.ints(size));
+            }
+            int[] sorted = union(shards);
+            Arrays.sort(sorted);
+
+            for (int k : new int[]{1, 2, 5_000, 19_500, 39_000, 39_001}) {
+                assertEquals(sorted[k - 1], ShardedSelect.select(shards, k, executor), shape + ", k " + k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Shards are reordered in place, never copied")
+    void testShardsNotCopied() {
+        List<int[]> shards = new ArrayList<>();
+        List<int[]> originals = new ArrayList<>();
+        for (int s = 0; s < 8; s++) {
+            int[] shard = random.ints(5_000, -100, 100).toArray();
+            shards.add(shard);
+            originals.add(shard.clone());
+        }
+        int[] sorted = union(shards);
+        Arrays.sort(sorted);
+
+        assertEquals(sorted[19_999], ShardedSelect.select(shards, 20_000, executor));
+        for (int s = 0; s < shards.size(); s++) {
+            int[] shard = shards.get(s).clone();
+            int[] original = originals.get(s);
+            Arrays.sort(shard);
+            Arrays.sort(original);
+            assertArrayEquals(original, shard, "a shard must keep its own elements");
+        }
+    }
+
+    @Test
+    @DisplayName("Weighted median pivots finish in logarithmic rounds")
+    void testRounds() {
+        List<int[]> shards = new ArrayList<>();
+        shards.add(random.ints(200_000).toArray());
+        for (int s = 0; s < 15; s++) {
+            shards.add(random.ints(1_000).toArray());
+        }
+        int[] sorted = union(shards);
+        Arrays.sort(sorted);
+
+        SortMetrics metrics = new SortMetrics();
+        int k = sorted.length / 3;
+        assertEquals(sorted[k - 1], ShardedSelect.selectWithMetrics(shards, k, executor, metrics));
+        System.out.println("Sharded select over " + shards.size() + " shards, " + sorted.length + " elements: "
+                + metrics.getPartitionCalls() + " rounds, " + metrics.getExecutionTimeMs() + " ms");
+
+        // each round discards at least a quarter of the active elements
+        int bound = (int) Math.ceil(Math.log(sorted.length) / Math.log(4.0 / 3)) + 1;
+        assertTrue(metrics.getPartitionCalls() <= bound);
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        List<int[]> shards = List.of(new int[]{1, 2, 3}, new int[]{4, 5});
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ShardedSelect.select(null, 1, executor), "Should throw for null shard list");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ShardedSelect.select(List.of(), 1, executor), "Should throw for no shards");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ShardedSelect.select(shards, 0, executor), "Should throw for k=0");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            ShardedSelect.select(shards, 6, executor), "Should throw for k > total size");
+    }
+
+    private static int[] union(List<int[]> shards) {
+        int[] all = new int[shards.stream().mapToInt(shard -> shard.length).sum()];
+        int size = 0;
+        for (int[] shard : shards) {
+            System.arraycopy(shard, 0, all, size, shard.length);
+            size += shard.length;
+        }
+        return all;
+    }
+}
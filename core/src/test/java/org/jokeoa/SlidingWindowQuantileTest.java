@@ -0,0 +1,131 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class SlidingWindowQuantileTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Median and p99 match re-selecting the window after every sample")
+    void testMatchesDeterministicSelect() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int window = 257;
+            int[] stream = new WorkloadGenerator(shape, 42).ints(3_000);
+            SlidingWindowQuantile quantiles = SlidingWindowQuantile.ofLongs(window);
+
+            for (int i = 0; i < stream.length; i++) {
+                quantiles.addLong(stream[i]);
+                int[] current = Arrays.copyOfRange(stream, Math.max(0, i + 1 - window), i + 1);
+                int n = current.length;
+                assertEquals(n, quantiles.size());
+
+                assertEquals(DeterministicSelect.select(current, (n + 1) / 2), quantiles.median(), shape + " at " + i);
+                int p99 = (int) Math.max(1, Math.ceil(0.99 * n));
+                assertEquals(DeterministicSelect.select(current, p99), quantiles.quantile(0.99), shape + " at " + i);
+            }
+            assertEquals(DeterministicSelect.select(
+                    Arrays.copyOfRange(stream, stream.length - window, stream.length), 1), quantiles.select(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Double values follow Double.compare order")
+    void testDoubles() {
+        SlidingWindowQuantile quantiles = SlidingWindowQuantile.ofDoubles(4);
+        for (double value : new double[]{3.5, -0.0, Double.NaN, 0.0, -1e300, Double.NEGATIVE_INFINITY}) {
+            quantiles.addDouble(value);
+        }
+
+        // window holds NaN, 0.0, -1e300, -Infinity
+        assertEquals(Double.NEGATIVE_INFINITY, quantiles.selectDouble(1));
+        assertEquals(-1e300, quantiles.medianDouble());
+        assertEquals(0.0, quantiles.selectDouble(3));
+        assertTrue(Double.isNaN(quantiles.quantileDouble(1.0)));
+    }
+
+    @Test
+    @DisplayName("Bulk advance matches one value at a time")
+    void testBulkAdvance() {
+        int window = 1000;
+        double[] stream = random.doubles(20_000).toArray();
+        SlidingWindowQuantile single = SlidingWindowQuantile.ofDoubles(window);
+        SlidingWindowQuantile bulk = SlidingWindowQuantile.ofDoubles(window);
+
+        int offset = 0;
+        for (int batch : new int[]{10, 999, 1000, 1, 5000, 3, 12_987}) {
+            for (int i = offset; i < offset + batch; i++) {
+                single.addDouble(stream[i]);
+            }
+            bulk.addAll(stream, offset, batch);
+            offset += batch;
+
+            assertEquals(single.size(), bulk.size());
+            for (double q : new double[]{0, 0.25, 0.5, 0.99, 1}) {
+                assertEquals(single.quantileDouble(q), bulk.quantileDouble(q), "q " + q + " after " + offset);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Updates stay logarithmic in the window size")
+    void testLargeWindow() {
+        int window = 100_000;
+        long[] stream = random.longs(1_000_000).toArray();
+        SlidingWindowQuantile quantiles = SlidingWindowQuantile.ofLongs(window);
+
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (long value : stream) {
+            quantiles.addLong(value);
+            checksum += quantiles.quantile(0.99);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("1M updates + p99 queries over a window of " + window + ": " + elapsedMs + " ms (" + checksum + ")");
+
+        long[] last = Arrays.copyOfRange(stream, stream.length - window, stream.length);
+        Arrays.sort(last);
+        assertEquals(last[window / 2 - 1], quantiles.median());
+        assertEquals(last[(int) Math.ceil(0.99 * window) - 1], quantiles.quantile(0.99));
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        SlidingWindowQuantile quantiles = SlidingWindowQuantile.ofLongs(10);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SlidingWindowQuantile.ofLongs(0), "Should throw for empty window");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            quantiles.median(), "Should throw for query on empty window");
+
+        quantiles.addLong(5);
+        assertThrows(IllegalArgumentException.class, () ->
+            quantiles.select(2), "Should throw for k > window size");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            quantiles.quantile(1.5), "Should throw for quantile outside [0, 1]");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            quantiles.addAll(new long[3], 2, 2), "Should throw for batch outside the array");
+
+        assertThrows(IllegalStateException.class, () ->
+            quantiles.addDouble(1.0), "Should throw for double into a long window");
+
+        SlidingWindowQuantile doubles = SlidingWindowQuantile.ofDoubles(10);
+        doubles.addDouble(5);
+        assertEquals(5.0, doubles.medianDouble(), "int arguments widen to the double mode");
+    }
+}
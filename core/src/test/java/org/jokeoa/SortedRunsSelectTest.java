@@ -0,0 +1,121 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class SortedRunsSelectTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Matches a merged sort on every workload shape")
+    void testWorkloadShapes() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            WorkloadGenerator generator = new WorkloadGenerator(shape, 42);
+            int[][] runs = new int[6][];
+            int[] sizes = {5_000, 0, 1, 12_000, 7, 3_000};
+            for (int r = 0; r < runs.length; r++) {
+                runs[r] = generator.ints(sizes[r]);
+                Arrays.sort(runs[r]);
+            }
+            int[] merged = merge(runs);
+            int[][] copies = copy(runs);
+
+            for (long k : new long[]{1, 2, 1000, 10_004, 20_000, 20_008}) {
+                assertEquals(merged[(int) k - 1], SortedRunsSelect.select(runs, k), shape + ", k " + k);
+            }
+            assertArrayEquals(copies, runs, "runs must not be modified");
+        }
+    }
+
+    @Test
+    @DisplayName("Percentiles and rank queries over overlapping runs with duplicates")
+    void testSelectManyAndCountLess() {
+        int[][] runs = new int[20][];
+        for (int r = 0; r < runs.length; r++) {
+            runs[r] = random.ints(1 + random.nextInt(5_000), -200, 200).toArray();
+            Arrays.sort(runs[r]);
+        }
+        int[] merged = merge(runs);
+        int n = merged.length;
+
+        long[] ranks = {n, 1, (long) Math.ceil(0.5 * n), (long) Math.ceil(0.99 * n)};
+        int[] values = SortedRunsSelect.selectMany(runs, ranks);
+        for (int i = 0; i < ranks.length; i++) {
+            assertEquals(merged[(int) ranks[i] - 1], values[i]);
+        }
+
+        for (int value : new int[]{-1000, -200, -1, 0, 57, 199, 200}) {
+            long expected = Arrays.stream(merged).filter(element -> element < value).count();
+            assertEquals(expected, SortedRunsSelect.countLess(runs, value), "values < " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Polylogarithmic work without merging")
+    void testPolylogWork() {
+        int[][] runs = new int[16][];
+        for (int r = 0; r < runs.length; r++) {
+            runs[r] = random.ints(250_000).toArray();
+            Arrays.sort(runs[r]);
+        }
+        int[] merged = merge(runs);
+        int n = merged.length;
+
+        SortMetrics metrics = new SortMetrics();
+        assertEquals(merged[n / 2], SortedRunsSelect.selectWithMetrics(runs, n / 2 + 1, metrics));
+        System.out.println("Median of " + runs.length + " sorted runs, " + n + " elements: "
+                + metrics.getPartitionCalls() + " rounds, " + metrics.getTotalComparisons() + " comparisons");
+
+        double log = Math.log(n) / Math.log(2);
+        assertTrue(metrics.getPartitionCalls() <= Math.ceil(Math.log(n) / Math.log(4.0 / 3)) + 1);
+        assertTrue(metrics.getTotalComparisons() < 2 * runs.length * log * log);
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        int[][] runs = {{1, 3, 5}, {2, 4}};
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SortedRunsSelect.select(null, 1), "Should throw for null runs");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SortedRunsSelect.select(new int[][]{{1}, null}, 1), "Should throw for a null run");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SortedRunsSelect.select(runs, 0), "Should throw for k=0");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SortedRunsSelect.select(runs, 6), "Should throw for k > total length");
+    }
+
+    private static int[] merge(int[][] runs) {
+        int[] merged = new int[Arrays.stream(runs).mapToInt(run -> run.length).sum()];
+        int size = 0;
+        for (int[] run : runs) {
+            System.arraycopy(run, 0, merged, size, run.length);
+            size += run.length;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static int[][] copy(int[][] runs) {
+        int[][] copies = new int[runs.length][];
+        for (int r = 0; r < runs.length; r++) {
+            copies[r] = runs[r].clone();
+        }
+        return copies;
+    }
+}
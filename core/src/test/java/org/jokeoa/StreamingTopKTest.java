@@ -0,0 +1,101 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+public class StreamingTopKTest {
+
+    @Test
+    @DisplayName("Top-k and bottom-k match a full sort")
+    void testTopAndBottom() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            long[] values = new WorkloadGenerator(shape, 42).longs(10_000);
+            values[0] = Long.MIN_VALUE;
+            values[1] = Long.MAX_VALUE;
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+
+            StreamingTopK top = StreamingTopK.largest(100).offerAll(LongStream.of(values));
+            StreamingTopK bottom = StreamingTopK.smallest(100).offerAll(LongStream.of(values));
+
+            long[] expectedTop = new long[100];
+            for (int i = 0; i < 100; i++) {
+                expectedTop[i] = sorted[sorted.length - 1 - i];
+            }
+            assertArrayEquals(expectedTop, top.toSortedArray(), shape.name());
+            assertArrayEquals(Arrays.copyOf(sorted, 100), bottom.toSortedArray(), shape.name());
+            assertEquals(sorted[99], bottom.threshold());
+        }
+    }
+
+    @Test
+    @DisplayName("Fewer values than k")
+    void testFewerValuesThanK() {
+        StreamingTopK top = StreamingTopK.largest(10);
+        top.offer(3);
+        top.offer(-1);
+        top.offer(7);
+
+        assertArrayEquals(new int[]{7, 3, -1}, top.toSortedIntArray());
+        assertEquals(3, top.size());
+        assertEquals(10, top.capacity());
+    }
+
+    @Test
+    @DisplayName("Little-endian buffer input")
+    void testByteBuffer() {
+        int[] values = new WorkloadGenerator(WorkloadShape.UNIFORM, 42).ints(5000);
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        buffer.flip();
+
+        int[] result = StreamingTopK.smallest(50).offerAll(buffer, ElementType.INT).toSortedIntArray();
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(Arrays.copyOf(sorted, 50), result);
+    }
+
+    @Test
+    @DisplayName("Parallel collection merges per-thread accumulators")
+    void testParallelMerge() {
+        long[] values = new Random(42).longs(200_000).toArray();
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        StreamingTopK top = LongStream.of(values).parallel()
+                .collect(() -> StreamingTopK.largest(25), StreamingTopK::offer, StreamingTopK::merge);
+
+        long[] result = top.toSortedArray();
+        for (int i = 0; i < 25; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], result[i]);
+        }
+        assertEquals(values.length, top.getOffered());
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            StreamingTopK.largest(0), "Should throw for k = 0");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            StreamingTopK.largest(5).merge(StreamingTopK.smallest(5)), "Should throw for mixed directions");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            StreamingTopK.largest(5).offerAll(ByteBuffer.allocate(16), ElementType.DOUBLE),
+            "Should throw for double elements");
+
+        assertThrows(IllegalStateException.class, () ->
+            StreamingTopK.smallest(5).threshold(), "Should throw when empty");
+    }
+}
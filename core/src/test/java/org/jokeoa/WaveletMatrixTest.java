@@ -0,0 +1,154 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class WaveletMatrixTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Range k-th matches DeterministicSelect on the slice for every workload shape")
+    void testRangeKth() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] column = new WorkloadGenerator(shape, 42).ints(100_000);
+            int[] original = column.clone();
+            WaveletMatrix matrix = WaveletMatrix.build(column);
+
+            for (int query = 0; query < 300; query++) {
+                int l = random.nextInt(column.length);
+                int r = l + random.nextInt(column.length - l);
+                int k = 1 + random.nextInt(r - l + 1);
+                int[] slice = Arrays.copyOfRange(column, l, r + 1);
+                assertEquals(DeterministicSelect.select(slice, k), matrix.kthSmallest(l, r, k),
+                        shape + " [" + l + ", " + r + "], k " + k);
+            }
+            assertArrayEquals(original, column, "build must not modify the input");
+        }
+    }
+
+    @Test
+    @DisplayName("Count-less-than, quantiles and access")
+    void testCountLessAndQuantile() {
+        int[] column = random.ints(50_000, -1000, 1000).toArray();
+        column[0] = Integer.MIN_VALUE;
+        column[1] = Integer.MAX_VALUE;
+        WaveletMatrix matrix = WaveletMatrix.build(column);
+        assertEquals(32, matrix.levels());
+
+        for (int query = 0; query < 300; query++) {
+            int l = random.nextInt(column.length);
+            int r = l + random.nextInt(column.length - l);
+            int value = random.nextInt(2100) - 1050;
+
+            int expected = 0;
+            for (int i = l; i <= r; i++) {
+                if (column[i] < value) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, matrix.countLess(l, r, value), "[" + l + ", " + r + "] < " + value);
+
+            int[] slice = Arrays.copyOfRange(column, l, r + 1);
+            Arrays.sort(slice);
+            int rank = (int) Math.max(1, Math.ceil(0.99 * slice.length));
+            assertEquals(slice[rank - 1], matrix.quantile(l, r, 0.99));
+        }
+
+        assertEquals(0, matrix.countLess(0, column.length - 1, Integer.MIN_VALUE));
+        assertEquals(column.length - 1, matrix.countLess(0, column.length - 1, Integer.MAX_VALUE));
+        assertEquals(Integer.MIN_VALUE, matrix.kthSmallest(0, column.length - 1, 1));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(column[i], matrix.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel build equals a single-threaded build, and the mapped file answers the same")
+    void testParallelBuildAndMappedFile() throws Exception {
+        int[] column = random.ints(1_000_003, 0, 1 << 20).toArray();
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        WaveletMatrix sequential;
+        WaveletMatrix built;
+        try {
+            long start = System.nanoTime();
+            sequential = WaveletMatrix.build(column, single);
+            long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            built = WaveletMatrix.build(column, parallel);
+            long parallelMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Wavelet matrix over " + column.length + " values, " + built.levels()
+                    + " levels: built in " + sequentialMs + " ms on 1 thread, " + parallelMs + " ms on 4");
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+
+        Path first = tempDir.resolve("sequential.wm");
+        Path second = tempDir.resolve("parallel.wm");
+        sequential.write(first);
+        built.write(second);
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+
+        WaveletMatrix mapped = WaveletMatrix.map(second);
+        assertEquals(column.length, mapped.size());
+        for (int query = 0; query < 1000; query++) {
+            int l = random.nextInt(column.length);
+            int r = l + random.nextInt(column.length - l);
+            int k = 1 + random.nextInt(r - l + 1);
+            assertEquals(built.kthSmallest(l, r, k), mapped.kthSmallest(l, r, k));
+            assertEquals(built.countLess(l, r, column[l]), mapped.countLess(l, r, column[l]));
+        }
+    }
+
+    @Test
+    @DisplayName("Constant column needs no levels")
+    void testConstantColumn() {
+        WaveletMatrix matrix = WaveletMatrix.build(new int[]{7, 7, 7, 7});
+
+        assertEquals(0, matrix.levels());
+        assertEquals(7, matrix.kthSmallest(1, 3, 2));
+        assertEquals(0, matrix.countLess(0, 3, 7));
+        assertEquals(4, matrix.countLess(0, 3, 8));
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        WaveletMatrix matrix = WaveletMatrix.build(new int[]{5, 1, 4, 2, 3});
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WaveletMatrix.build(null), "Should throw for null array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WaveletMatrix.build(new int[]{}), "Should throw for empty array");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            matrix.kthSmallest(3, 1, 1), "Should throw for l > r");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            matrix.kthSmallest(0, 2, 4), "Should throw for k > range length");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            matrix.countLess(0, 5, 1), "Should throw for r past the end");
+    }
+}
@@ -0,0 +1,129 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class WeightedSelectTest {
+
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+    }
+
+    @Test
+    @DisplayName("Matches cumulative weights of a full sort on every workload shape")
+    void testWorkloadShapes() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            int[] values = new WorkloadGenerator(shape, 42).ints(20_000);
+            long[] weights = random.longs(values.length, 0, 1000).toArray();
+            int[] originalValues = values.clone();
+            long[] originalWeights = weights.clone();
+
+            long total = Arrays.stream(weights).sum();
+            for (long target : new long[]{1, 2, total / 100, total / 2, total - 1, total}) {
+                assertEquals(bruteForce(values, weights, target), WeightedSelect.select(values, weights, target),
+                        shape + ", target " + target);
+            }
+            assertArrayEquals(originalValues, values, "select must not modify the values");
+            assertArrayEquals(originalWeights, weights, "select must not modify the weights");
+        }
+    }
+
+    @Test
+    @DisplayName("Unit weights reduce to unweighted selection")
+    void testUnitWeights() {
+        int[] values = random.ints(10_001, -500, 500).toArray();
+        long[] weights = new long[values.length];
+        Arrays.fill(weights, 1);
+
+        assertEquals(DeterministicSelect.select(values, 5001), WeightedSelect.weightedMedian(values, weights));
+        assertEquals(DeterministicSelect.select(values, 9901), WeightedSelect.weightedQuantile(values, weights, 0.99));
+        assertEquals(DeterministicSelect.select(values, 1), WeightedSelect.weightedQuantile(values, weights, 0));
+    }
+
+    @Test
+    @DisplayName("Heavy and zero weights")
+    void testHeavyAndZeroWeights() {
+        int[] values = {10, 20, 30, 40, 50};
+        long[] weights = {1, 0, 1, 100, 0};
+
+        assertEquals(40, WeightedSelect.weightedMedian(values, weights));
+        assertEquals(10, WeightedSelect.select(values, weights, 1));
+        assertEquals(30, WeightedSelect.select(values, weights, 2));
+        assertEquals(40, WeightedSelect.select(values, weights, 102));
+    }
+
+    @Test
+    @DisplayName("Linear comparisons and no allocation in place")
+    void testLinearAndAllocationFree() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        int size = 1_000_000;
+        int[] values = random.ints(size).toArray();
+        long[] weights = random.longs(size, 1, 1 << 20).toArray();
+        long total = Arrays.stream(weights).sum();
+
+        SortMetrics metrics = new SortMetrics();
+        int median = WeightedSelect.selectWithMetrics(values, weights, (total + 1) / 2, metrics);
+        System.out.println("Weighted median of " + size + ": " + metrics.getTotalComparisons() + " comparisons, "
+                + metrics.getExecutionTimeMs() + " ms");
+        assertEquals(bruteForce(values, weights, (total + 1) / 2), median);
+        assertTrue(metrics.getTotalComparisons() < 30L * size);
+
+        int[] scratchValues = values.clone();
+        long[] scratchWeights = weights.clone();
+        WeightedSelect.selectInPlace(values.clone(), weights.clone(), total / 3);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int result = WeightedSelect.selectInPlace(scratchValues, scratchWeights, (total + 1) / 2);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(median, result);
+        assertTrue(allocated < 1024, "Expected no allocation, got " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        int[] values = {1, 2, 3};
+        long[] weights = {1, 1, 1};
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WeightedSelect.select(null, weights, 1), "Should throw for null values");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WeightedSelect.select(values, new long[]{1, 1}, 1), "Should throw for mismatched lengths");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WeightedSelect.select(values, weights, 4), "Should throw for target > total weight");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WeightedSelect.select(values, new long[]{1, -1, 1}, 1), "Should throw for negative weight");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            WeightedSelect.weightedMedian(values, new long[3]), "Should throw for zero total weight");
+    }
+
+    private static int bruteForce(int[] values, long[] weights, long target) {
+        long[] packed = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            packed[i] = ((long) values[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        long cumulative = 0;
+        for (long entry : packed) {
+            int index = (int) entry;
+            cumulative += weights[index];
+            if (cumulative >= target) {
+                return values[index];
+            }
+        }
+        throw new IllegalStateException("target beyond total weight");
+    }
+}
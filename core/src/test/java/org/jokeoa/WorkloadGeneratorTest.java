@@ -0,0 +1,115 @@
+package org.jokeoa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class WorkloadGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Same seed gives the same data for every shape")
+    void testDeterminism() {
+        for (WorkloadShape shape : WorkloadShape.values()) {
+            assertArrayEquals(new WorkloadGenerator(shape, 7).ints(500), new WorkloadGenerator(shape, 7).ints(500),
+                    "ints differ for " + shape);
+            assertArrayEquals(new WorkloadGenerator(shape, 7).longs(500), new WorkloadGenerator(shape, 7).longs(500),
+                    "longs differ for " + shape);
+            assertArrayEquals(new WorkloadGenerator(shape, 7).doubles(500), new WorkloadGenerator(shape, 7).doubles(500),
+                    "doubles differ for " + shape);
+            assertArrayEquals(new WorkloadGenerator(shape, 7).points(500), new WorkloadGenerator(shape, 7).points(500),
+                    "points differ for " + shape);
+        }
+    }
+
+    @Test
+    @DisplayName("Different seeds give different random data")
+    void testSeedMatters() {
+        int[] first = new WorkloadGenerator(WorkloadShape.UNIFORM, 1).ints(100);
+        int[] second = new WorkloadGenerator(WorkloadShape.UNIFORM, 2).ints(100);
+        assertFalse(java.util.Arrays.equals(first, second));
+    }
+
+    @Test
+    @DisplayName("Deterministic shapes")
+    void testDeterministicShapes() {
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, new WorkloadGenerator(WorkloadShape.SORTED, 0).ints(5));
+        assertArrayEquals(new int[]{5, 4, 3, 2, 1}, new WorkloadGenerator(WorkloadShape.REVERSE, 0).ints(5));
+        assertArrayEquals(new int[]{0, 1, 2, 0, 1, 2, 0}, new WorkloadGenerator(WorkloadShape.SAWTOOTH, 0, 3).ints(7));
+        assertArrayEquals(new int[]{3, 2, 1, 1, 2, 3}, new WorkloadGenerator(WorkloadShape.ORGAN_PIPE, 0).ints(6));
+        assertArrayEquals(new int[]{42, 42, 42}, new WorkloadGenerator(WorkloadShape.ALL_IDENTICAL, 0).ints(3));
+    }
+
+    @Test
+    @DisplayName("Few-unique and Zipf stay within their cardinality")
+    void testCardinality() {
+        int[] fewUnique = new WorkloadGenerator(WorkloadShape.FEW_UNIQUE, 42, 10).ints(10_000);
+        int[] zipf = new WorkloadGenerator(WorkloadShape.ZIPF, 42, 100).ints(10_000);
+
+        int[] zipfCounts = new int[100];
+        for (int i = 0; i < fewUnique.length; i++) {
+            assertTrue(fewUnique[i] >= 0 && fewUnique[i] < 10);
+            assertTrue(zipf[i] >= 0 && zipf[i] < 100);
+            zipfCounts[zipf[i]]++;
+        }
+
+        assertTrue(zipfCounts[0] > zipfCounts[1] && zipfCounts[1] > zipfCounts[10],
+                "Zipf ranks should be ordered by frequency");
+    }
+
+    @Test
+    @DisplayName("Streamed files match the in-memory arrays")
+    void testMappedFilesMatchArrays() throws Exception {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadShape.CLUSTERED, 42);
+        int size = 1000;
+
+        Path ints = tempDir.resolve("ints.bin");
+        Path longs = tempDir.resolve("longs.bin");
+        Path doubles = tempDir.resolve("doubles.bin");
+        Path points = tempDir.resolve("points.bin");
+        generator.writeInts(ints, size);
+        generator.writeLongs(longs, size);
+        generator.writeDoubles(doubles, size);
+        generator.writePoints(points, size);
+
+        ByteBuffer intBuffer = ByteBuffer.wrap(Files.readAllBytes(ints)).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer longBuffer = ByteBuffer.wrap(Files.readAllBytes(longs)).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer doubleBuffer = ByteBuffer.wrap(Files.readAllBytes(doubles)).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer pointBuffer = ByteBuffer.wrap(Files.readAllBytes(points)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(size * Integer.BYTES, intBuffer.capacity());
+        assertEquals(size * 2 * Double.BYTES, pointBuffer.capacity());
+
+        int[] expectedInts = generator.ints(size);
+        long[] expectedLongs = generator.longs(size);
+        double[] expectedDoubles = generator.doubles(size);
+        Point2D[] expectedPoints = generator.points(size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expectedInts[i], intBuffer.getInt());
+            assertEquals(expectedLongs[i], longBuffer.getLong());
+            assertEquals(expectedDoubles[i], doubleBuffer.getDouble());
+            assertEquals(expectedPoints[i], new Point2D(pointBuffer.getDouble(), pointBuffer.getDouble()));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input parameters")
+    void testInvalidInputParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new WorkloadGenerator(null, 1), "Should throw for missing shape");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new WorkloadGenerator(WorkloadShape.FEW_UNIQUE, 1, 0), "Should throw for zero cardinality");
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new WorkloadGenerator(WorkloadShape.SORTED, 1).ints(-1), "Should throw for negative size");
+    }
+}
@@ -1,6 +0,0 @@
-package org.jokeoa;
-
-public class Main {
-    public static void main(String[] args) {
-    }
-}
\ No newline at end of file